@@ -0,0 +1,97 @@
+package com.fintech.enterprise.benchmark;
+
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.service.dto.BudgetOverviewDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money math behind DepartmentServiceImpl.getBudgetOverview() (one call per department) and the bulk-review
+ * spend updates, each next to the BigDecimal code it replaced. Run with -prof gc for the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetOverviewBenchmark {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"50"})
+    private int departments;
+
+    private String[] names;
+    private Money[] budgets;
+    private Money[] spent;
+    private BigDecimal[] decimalBudgets;
+    private BigDecimal[] decimalSpent;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        names = new String[departments];
+        budgets = new Money[departments];
+        spent = new Money[departments];
+        decimalBudgets = new BigDecimal[departments];
+        decimalSpent = new BigDecimal[departments];
+        for (int i = 0; i < departments; i++) {
+            long budgetCents = 1_000_000L + random.nextInt(100_000_000);
+            long spentCents = (long) (budgetCents * random.nextDouble() * 1.1);
+            names[i] = "Department " + i;
+            budgets[i] = Money.ofMinor(budgetCents);
+            spent[i] = Money.ofMinor(spentCents);
+            decimalBudgets[i] = BigDecimal.valueOf(budgetCents, 2);
+            decimalSpent[i] = BigDecimal.valueOf(spentCents, 2);
+        }
+    }
+
+    @Benchmark
+    public void overview(Blackhole blackhole) {
+        for (int i = 0; i < departments; i++) {
+            blackhole.consume(BudgetOverviewDTO.of(names[i], budgets[i], spent[i]));
+        }
+    }
+
+    // The BigDecimal formulas BudgetOverviewDTO.of used before Money
+    @Benchmark
+    public void overviewBigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < departments; i++) {
+            BigDecimal remaining = decimalBudgets[i].subtract(decimalSpent[i]);
+            blackhole.consume(remaining);
+            blackhole.consume(remaining.divide(decimalBudgets[i], 4, RoundingMode.HALF_UP).multiply(HUNDRED));
+            blackhole.consume(decimalSpent[i].divide(decimalBudgets[i], 4, RoundingMode.HALF_UP).multiply(HUNDRED));
+        }
+    }
+
+    // Budget check and charge per approved expense, as in a bulk review
+    @Benchmark
+    public Money spendUpdates() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < departments; i++) {
+            Money charged = total.plus(spent[i]);
+            if (!charged.isGreaterThan(budgets[i])) {
+                total = charged;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal spendUpdatesBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < departments; i++) {
+            BigDecimal charged = total.add(decimalSpent[i]);
+            if (charged.compareTo(decimalBudgets[i]) <= 0) {
+                total = charged;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,82 @@
+package com.fintech.enterprise.benchmark;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.service.ExpenseAnalyticsStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Scan latency of ExpenseAnalyticsStore over synthetic expenses (200 departments, 20k users, two years),
+ * single-threaded and split across the fork-join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ExpenseAnalyticsBenchmark {
+
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+    private static final ExpenseStatus[] STATUSES = ExpenseStatus.values();
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final ExpenseAnalyticsStore.Criteria APPROVED_THIS_YEAR = new ExpenseAnalyticsStore.Criteria(
+            null, null, null, ExpenseStatus.APPROVED, LocalDate.of(2025, 1, 1), null, null, null);
+    private static final Set<ExpenseAnalyticsStore.Dimension> DEPARTMENT_CATEGORY_MONTH = EnumSet.of(
+            ExpenseAnalyticsStore.Dimension.DEPARTMENT, ExpenseAnalyticsStore.Dimension.CATEGORY,
+            ExpenseAnalyticsStore.Dimension.MONTH);
+
+    @Param({"3000000"})
+    private int expenses;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private ExpenseAnalyticsStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = parallel ? new ExpenseAnalyticsStore(0, 250_000) : new ExpenseAnalyticsStore(1, Integer.MAX_VALUE);
+        store.rebuild(IntStream.range(0, expenses).mapToObj(i -> {
+            SplittableRandom random = new SplittableRandom(i);
+            // Log-uniform amounts between 1.00 and roughly 22,000.00
+            long cents = 100 + (long) Math.exp(random.nextDouble() * 14.6);
+            return new ExpenseAnalyticsStore.Row((long) i, 0, (long) random.nextInt(200),
+                    (long) random.nextInt(20_000), CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    STATUSES[random.nextInt(STATUSES.length)], FIRST_DAY.plusDays(random.nextInt(730)), cents);
+        }));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.shutdown();
+    }
+
+    @Benchmark
+    public List<ExpenseAnalyticsStore.Group> totalsOverall() {
+        return store.aggregate(ExpenseAnalyticsStore.Criteria.ALL, Set.of());
+    }
+
+    @Benchmark
+    public List<ExpenseAnalyticsStore.Group> byDepartmentCategoryMonth() {
+        return store.aggregate(APPROVED_THIS_YEAR, DEPARTMENT_CATEGORY_MONTH);
+    }
+
+    @Benchmark
+    public List<ExpenseAnalyticsStore.Group> byUser() {
+        return store.aggregate(ExpenseAnalyticsStore.Criteria.ALL, EnumSet.of(ExpenseAnalyticsStore.Dimension.USER));
+    }
+
+    @Benchmark
+    public ExpenseAnalyticsStore.Percentiles percentiles() {
+        return store.percentiles(APPROVED_THIS_YEAR, 50, 90, 99, 99.9);
+    }
+}
@@ -0,0 +1,72 @@
+package com.fintech.enterprise.benchmark;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.service.ExpenseSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Query latency of ExpenseSearchIndex over a synthetic corpus (Zipf-like vocabulary, 500-char descriptions).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ExpenseSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+    private static final ExpenseStatus[] STATUSES = ExpenseStatus.values();
+
+    @Param({"1000000"})
+    private int expenses;
+
+    private ExpenseSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ExpenseSearchIndex();
+        index.rebuild(IntStream.range(0, expenses).mapToObj(i -> {
+            SplittableRandom random = new SplittableRandom(i);
+            return new ExpenseSearchIndex.Document((long) i, 0, (long) random.nextInt(20),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], STATUSES[random.nextInt(STATUSES.length)],
+                    text(random, 4), text(random, 60));
+        }));
+    }
+
+    // Word ranks follow roughly 1/rank, so "w1" is in most documents and "w5000" in a few hundred
+    private static String text(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = (int) Math.pow(VOCABULARY, random.nextDouble());
+            text.append('w').append(rank).append(' ');
+        }
+        return text.toString();
+    }
+
+    @Benchmark
+    public ExpenseSearchIndex.Hits commonWord() {
+        return index.search("w3", null, null, null, 20);
+    }
+
+    @Benchmark
+    public ExpenseSearchIndex.Hits rareAndCommonWords() {
+        return index.search("w5000 w2", null, null, null, 20);
+    }
+
+    @Benchmark
+    public ExpenseSearchIndex.Hits prefixWord() {
+        return index.search("w12*", null, null, null, 20);
+    }
+
+    @Benchmark
+    public ExpenseSearchIndex.Hits filteredWords() {
+        return index.search("w40 w7", 3L, ExpenseCategory.TRAVEL, ExpenseStatus.PENDING, 20);
+    }
+}
@@ -0,0 +1,65 @@
+package com.fintech.enterprise.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.enterprise.config.JacksonConfig;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.service.dto.ExpensePageDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of an expense page with the Hibernate6Module registered, as the REST layer does it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseSerializationBenchmark {
+
+    @Param({"1", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ExpensePageDTO page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new JacksonConfig().hibernateModule())
+                .build();
+
+        Department department = new Department(1L, "Technology", Money.of("100000.00"), Money.of("1234.56"));
+        User submitter = new User(2L, "employee", "$2a$10$hash", Role.EMPLOYEE);
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Expense expense = new Expense();
+            expense.setId((long) i);
+            expense.setTitle("Client lunch " + i);
+            expense.setDescription("Lunch with a client to discuss the renewal of contract " + i);
+            expense.setAmount(Money.ofMinor(8550 + i));
+            expense.setCategory(ExpenseCategory.MEALS);
+            expense.setDateSubmitted(LocalDate.of(2025, 10, 1).plusDays(i % 28));
+            expense.setSubmittedBy(submitter);
+            expense.setDepartment(department);
+            expenses.add(expense);
+        }
+        page = new ExpensePageDTO(expenses, "MjAyNS0xMC0wMXw0OQ");
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
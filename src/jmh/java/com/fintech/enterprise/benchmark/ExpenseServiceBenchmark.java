@@ -0,0 +1,78 @@
+package com.fintech.enterprise.benchmark;
+
+import com.fintech.enterprise.FinTrackApplication;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.service.ExpenseService;
+import com.fintech.enterprise.service.dto.ExpenseRequestDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpenseServiceImpl write paths end to end (JPA, rollups, transactions) against the embedded
+ * H2 database in PostgreSQL mode configured by the test application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpenseServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private ExpenseRequestDTO request;
+    private Long pendingExpenseId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(FinTrackApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        expenseService = context.getBean(ExpenseService.class);
+
+        // A budget large enough that approvals never hit the yearly cap during the run
+        Department department = context.getBean(DepartmentRepository.class).save(
+                new Department(null, "Benchmark", Money.of("1000000000000.00"), Money.ZERO));
+        request = new ExpenseRequestDTO("Client lunch", "Benchmark expense", Money.of("85.50"),
+                ExpenseCategory.MEALS, department.getId());
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareInvocation() {
+        authenticateAs("manager", "ROLE_MANAGER");
+        pendingExpenseId = expenseService.createExpense(request).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public Expense createExpense() {
+        return expenseService.createExpense(request);
+    }
+
+    @Benchmark
+    public Expense approveExpense() {
+        return expenseService.approveExpense(pendingExpenseId);
+    }
+
+    private static void authenticateAs(String username, String authority) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority(authority))));
+    }
+}
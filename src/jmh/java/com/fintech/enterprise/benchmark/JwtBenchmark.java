@@ -0,0 +1,57 @@
+package com.fintech.enterprise.benchmark;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.security.AuthenticatedUser;
+import com.fintech.enterprise.security.TokenService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification in TokenService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "benchmark_secret_benchmark_secret_0001";
+
+    private TokenService tokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = newTokenService();
+        user = manager();
+        token = tokenService.issueAccessToken(user);
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return tokenService.issueAccessToken(user);
+    }
+
+    @Benchmark
+    public AuthenticatedUser parseAccessToken() {
+        return tokenService.parseAccessToken(token);
+    }
+
+    static TokenService newTokenService() {
+        return new TokenService(SECRET, Duration.ofHours(1), Duration.ofDays(7));
+    }
+
+    static User manager() {
+        User manager = new User(42L, "manager", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm", Role.MANAGER);
+        manager.setDepartment(new Department(7L, "Technology", Money.of("100000.00"), Money.ZERO));
+        return manager;
+    }
+}
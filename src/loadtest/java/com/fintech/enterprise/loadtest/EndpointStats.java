@@ -0,0 +1,62 @@
+package com.fintech.enterprise.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latencies and status codes of one endpoint during the measured window. Every latency is kept, so the
+ * percentiles are exact rather than bucketed (8 bytes per request; a few million requests fit easily).
+ */
+final class EndpointStats {
+
+    private final String endpoint;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] latencies = new long[4096];
+    private int count;
+    private final Map<String, Long> statuses = new TreeMap<>();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    // status 0: the request failed before a response arrived
+    void record(int status, long latencyNanos) {
+        lock.lock();
+        try {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            statuses.merge(status == 0 ? "io-error" : String.valueOf(status), 1L, Long::sum);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    record Summary(String endpoint, long requests, double throughputPerSecond, double p50Millis,
+                   double p99Millis, double p999Millis, double maxMillis, Map<String, Long> statuses) {
+    }
+
+    Summary summarize(double seconds) {
+        lock.lock();
+        try {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Summary(endpoint, count, count / seconds, percentile(sorted, 50), percentile(sorted, 99),
+                    percentile(sorted, 99.9), count == 0 ? 0 : sorted[count - 1] / 1e6, new TreeMap<>(statuses));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
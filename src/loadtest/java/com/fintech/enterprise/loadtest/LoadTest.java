@@ -0,0 +1,161 @@
+package com.fintech.enterprise.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fintech.enterprise.FinTrackApplication;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.security.TokenService;
+import com.fintech.enterprise.service.BudgetOverviewCache;
+import com.fintech.enterprise.service.ExpenseAnalyticsService;
+import com.fintech.enterprise.service.ExpenseRollupService;
+import com.fintech.enterprise.service.ExpenseSearchService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline load test: starts FinTrack on a random port against the embedded H2 database of the loadtest
+ * profile (application-loadtest.properties), seeds it with synthetic data, drives a mixed workload over
+ * HTTP and prints throughput and p50/p99/p99.9 latency per endpoint, also written as JSON.
+ * <p>
+ * Run with: mvn -Ploadtest verify -Dloadtest.args="expenses=200000 clients=100 duration=30s"
+ * Arguments (key=value): departments, users, expenses, clients, warmup, duration, think, mix, seed, out.
+ * Client and server share the machine, so the client's own CPU use is part of what is measured. Each login
+ * costs a BCrypt hash (tens of milliseconds of CPU), so the login weight in the mix dominates on small boxes.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "departments", "500",
+            "users", "50000",
+            "expenses", "1000000",
+            "clients", "200",
+            "warmup", "20s",
+            "duration", "60s",
+            "think", "0ms",
+            "mix", "submit:25,list:15,department:20,approve:10,overview:28,login:2",
+            "seed", "42",
+            "out", "target/loadtest-results.json");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int clients = Integer.parseInt(options.get("clients"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FinTrackApplication.class)
+                .profiles("loadtest")
+                .run();
+        try {
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+
+            long started = System.nanoTime();
+            SyntheticDataSeeder seeder = new SyntheticDataSeeder(context.getBean(JdbcTemplate.class),
+                    context.getBean(PlatformTransactionManager.class), Long.parseLong(options.get("seed")));
+            SyntheticDataSeeder.Seeded seeded = seeder.seed(Integer.parseInt(options.get("departments")),
+                    Integer.parseInt(options.get("users")), Integer.parseInt(options.get("expenses")));
+            System.out.println("--- Seeded " + seeded.departmentIds().size() + " departments, " + seeded.members().size()
+                    + " users and " + options.get("expenses") + " expenses in " + millisSince(started) + " ms ---");
+
+            // The startup loaders ran on an empty database; load what was seeded the way an admin would
+            started = System.nanoTime();
+            context.getBean(ExpenseSearchService.class).rebuildIndex();
+            context.getBean(ExpenseAnalyticsService.class).rebuildStore();
+            context.getBean(ExpenseRollupService.class).rebuild();
+            context.getBean(BudgetOverviewCache.class).invalidate();
+            System.out.println("--- Rebuilt search index, analytics store and rollups in " + millisSince(started) + " ms ---");
+
+            Workload workload = new Workload(baseUri, context.getBean(ObjectMapper.class),
+                    Workload.parseMix(options.get("mix")), duration(options.get("think")), seeded.pendingExpenseIds());
+            System.out.println("--- Driving " + clients + " clients against " + baseUri + " ---");
+            Map<String, EndpointStats.Summary> results = workload.run(
+                    clients(seeded, clients, context.getBean(TokenService.class)),
+                    duration(options.get("warmup")), duration(options.get("duration")), Long.parseLong(options.get("seed")));
+
+            report(results);
+            File out = new File(options.get("out"));
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out,
+                    Map.of("options", options, "endpoints", results.values()));
+            System.out.println("--- Results written to " + out.getPath() + " ---");
+        } finally {
+            context.close();
+        }
+    }
+
+    // Client i acts as the i-th seeded employee (wrapping around) and that employee's department manager
+    private static List<Workload.Client> clients(SyntheticDataSeeder.Seeded seeded, int count, TokenService tokens) {
+        Map<Long, SyntheticDataSeeder.Member> managers = new HashMap<>();
+        List<SyntheticDataSeeder.Member> employees = new ArrayList<>();
+        for (SyntheticDataSeeder.Member member : seeded.members()) {
+            if (member.role() == Role.MANAGER) {
+                managers.put(member.departmentId(), member);
+            } else {
+                employees.add(member);
+            }
+        }
+        List<Workload.Client> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SyntheticDataSeeder.Member employee = employees.get(i % employees.size());
+            SyntheticDataSeeder.Member manager = managers.get(employee.departmentId());
+            clients.add(new Workload.Client(employee.username(), tokens.issueAccessToken(user(employee)),
+                    tokens.issueAccessToken(user(manager)), employee.departmentId()));
+        }
+        return clients;
+    }
+
+    private static User user(SyntheticDataSeeder.Member member) {
+        User user = new User(member.id(), member.username(), null, member.role());
+        Department department = new Department();
+        department.setId(member.departmentId());
+        user.setDepartment(department);
+        return user;
+    }
+
+    private static void report(Map<String, EndpointStats.Summary> results) {
+        System.out.printf("%n%-40s %9s %9s %9s %9s %9s %9s  %s%n",
+                "Endpoint", "Requests", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "Statuses");
+        long requests = 0;
+        double throughput = 0;
+        for (EndpointStats.Summary s : results.values()) {
+            System.out.printf("%-40s %9d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n", s.endpoint(), s.requests(),
+                    s.throughputPerSecond(), s.p50Millis(), s.p99Millis(), s.p999Millis(), s.maxMillis(), s.statuses());
+            requests += s.requests();
+            throughput += s.throughputPerSecond();
+        }
+        System.out.printf("%-40s %9d %9.1f%n%n", "Total", requests, throughput);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 0 || !DEFAULTS.containsKey(arg.substring(0, equals))) {
+                throw new IllegalArgumentException("Unknown argument '" + arg + "'; expected one of " + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static Duration duration(String text) {
+        return DurationStyle.detectAndParse(text);
+    }
+
+    private static long millisSince(long nanoTime) {
+        return (System.nanoTime() - nanoTime) / 1_000_000;
+    }
+}
@@ -0,0 +1,162 @@
+package com.fintech.enterprise.loadtest;
+
+import com.fintech.enterprise.config.ExpenseSequenceAligner;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.Role;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the load-test database with departments, their members and a history of expenses using plain
+ * JDBC batches (the JPA write path would take hours for millions of rows). Every department gets one
+ * manager, who reviewed its approved and denied expenses. Department spend is written from the same pass;
+ * the monthly rollups are derived afterwards by ExpenseRollupService.rebuild (see LoadTest). Seeded users
+ * all share {@link #PASSWORD}, hashed once.
+ */
+final class SyntheticDataSeeder {
+
+    static final String PASSWORD = "loadtest";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int HISTORY_DAYS = 730;
+    private static final String[] TITLES = {
+            "Taxi to airport", "Team lunch", "Hotel two nights", "Laptop charger", "Conference ticket",
+            "Client dinner", "Train to head office", "Design tool licence", "Printer paper", "Search ads",
+            "Office chairs", "Cloud hosting", "Parking", "Coffee with candidates", "Trade fair stand"
+    };
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final SplittableRandom random;
+
+    SyntheticDataSeeder(JdbcTemplate jdbc, PlatformTransactionManager transactionManager, long seed) {
+        this.jdbc = jdbc;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.random = new SplittableRandom(seed);
+    }
+
+    record Member(long id, String username, Role role, long departmentId) {
+    }
+
+    record Seeded(List<Long> departmentIds, List<Member> members, List<Long> pendingExpenseIds) {
+    }
+
+    Seeded seed(int departments, int users, int expenses) {
+        List<Long> departmentIds = seedDepartments(departments);
+        List<Member> members = seedUsers(departmentIds, Math.max(users, departments * 2));
+        List<Long> pending = seedExpenses(departmentIds, members, expenses);
+        return new Seeded(departmentIds, members, pending);
+    }
+
+    private List<Long> seedDepartments(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int d = 0; d < count; d++) {
+            rows.add(new Object[]{"LT-Department-" + d, BigDecimal.ZERO, BigDecimal.ZERO});
+        }
+        jdbc.batchUpdate("INSERT INTO department (name, yearly_budget, spent_amount, version) VALUES (?, ?, ?, 0)", rows);
+        return jdbc.queryForList("SELECT id FROM department WHERE name LIKE 'LT-Department-%' ORDER BY id", Long.class);
+    }
+
+    // Member i belongs to department i % departments; the first member of each department is its manager
+    private List<Member> seedUsers(List<Long> departmentIds, int count) {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int u = 0; u < count; u++) {
+            Role role = u < departmentIds.size() ? Role.MANAGER : Role.EMPLOYEE;
+            rows.add(new Object[]{"lt-user-" + u, hash, role.name(), departmentIds.get(u % departmentIds.size())});
+            if (rows.size() == BATCH_SIZE || u == count - 1) {
+                insert("INSERT INTO app_user (username, password, role, department_id) VALUES (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        return jdbc.query("SELECT id, username, role, department_id FROM app_user WHERE username LIKE 'lt-user-%' ORDER BY id",
+                (rs, i) -> new Member(rs.getLong(1), rs.getString(2), Role.valueOf(rs.getString(3)), rs.getLong(4)));
+    }
+
+    private List<Long> seedExpenses(List<Long> departmentIds, List<Member> members, int count) {
+        int departments = departmentIds.size();
+        long[] spent = new long[departments];
+        LocalDate today = LocalDate.now();
+        ExpenseCategory[] categories = ExpenseCategory.values();
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        // Ids are assigned here rather than drawn from expense_seq; the table holds no expenses yet
+        long firstId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM expense", Long.class) + 1;
+
+        for (int e = 0; e < count; e++) {
+            long id = firstId + e;
+            int memberIndex = random.nextInt(members.size());
+            Member submitter = members.get(memberIndex);
+            int department = memberIndex % departments;
+            Member manager = members.get(department);
+            LocalDate submitted = today.minusDays(random.nextInt(HISTORY_DAYS));
+            long amount = amountInCents();
+            // Older expenses are mostly reviewed; the last month's are mostly pending
+            boolean recent = submitted.isAfter(today.minusDays(30));
+            int roll = random.nextInt(100);
+            ExpenseStatus status = recent ? (roll < 70 ? ExpenseStatus.PENDING : ExpenseStatus.APPROVED)
+                    : (roll < 85 ? ExpenseStatus.APPROVED : roll < 97 ? ExpenseStatus.DENIED : ExpenseStatus.PENDING);
+            boolean reviewed = status != ExpenseStatus.PENDING;
+            ExpenseCategory category = categories[random.nextInt(categories.length)];
+            if (status == ExpenseStatus.APPROVED) {
+                spent[department] += amount;
+            }
+            rows.add(new Object[]{
+                    id,
+                    TITLES[random.nextInt(TITLES.length)] + " #" + e,
+                    random.nextInt(4) == 0 ? "Synthetic load-test expense" : null,
+                    Money.ofMinor(amount).toBigDecimal(),
+                    Date.valueOf(submitted),
+                    status.name(),
+                    category.name(),
+                    submitter.id(),
+                    submitter.departmentId(),
+                    reviewed ? manager.id() : null,
+                    reviewed ? Date.valueOf(submitted.plusDays(random.nextInt(1, 8))) : null});
+            if (rows.size() == BATCH_SIZE || e == count - 1) {
+                insert("INSERT INTO expense (id, title, description, amount, date_submitted, status, category, "
+                        + "user_id, department_id, reviewer_id, date_reviewed, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+                if ((e + 1) % 100_000 == 0) {
+                    System.out.println("--- Seeded " + (e + 1) + " expenses ---");
+                }
+            }
+        }
+
+        // Budgets leave room for every approval the run can make
+        List<Object[]> budgets = new ArrayList<>(departments);
+        for (int d = 0; d < departments; d++) {
+            budgets.add(new Object[]{Money.ofMinor(spent[d] * 5 / 4 + 1_000_000_000L).toBigDecimal(),
+                    Money.ofMinor(spent[d]).toBigDecimal(), departmentIds.get(d)});
+        }
+        jdbc.batchUpdate("UPDATE department SET yearly_budget = ?, spent_amount = ? WHERE id = ?", budgets);
+
+        // Past the seeded ids, as ExpenseSequenceAligner does at startup
+        jdbc.execute("ALTER SEQUENCE expense_seq RESTART WITH "
+                + (firstId + count + ExpenseSequenceAligner.ALLOCATION_SIZE));
+
+        return jdbc.queryForList("SELECT id FROM expense WHERE status = 'PENDING' ORDER BY id", Long.class);
+    }
+
+    // One transaction per batch: committing row by row would dominate the seeding time
+    private void insert(String sql, List<Object[]> rows) {
+        transaction.executeWithoutResult(status -> jdbc.batchUpdate(sql, rows));
+    }
+
+    // Log-normal around 60.00, capped at 20,000.00: many small receipts, a few large invoices
+    private long amountInCents() {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return Math.max(100, Math.min(2_000_000, Math.round(6_000 * Math.exp(1.1 * gaussian))));
+    }
+}
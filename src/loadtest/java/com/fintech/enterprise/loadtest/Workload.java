@@ -0,0 +1,241 @@
+package com.fintech.enterprise.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.enterprise.model.ExpenseCategory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop clients, one virtual thread each, that pick an operation by weight, send it over HTTP and
+ * wait for the answer before the next one (plus an optional think time). Under overload a closed loop
+ * sends less rather than queueing more, so read the latencies together with the throughput.
+ * <p>
+ * Each client acts as one seeded employee and, for the manager-only operations, as that employee's
+ * department manager; approvals take pending expenses from a shared queue fed by the seed and by the
+ * client's own submissions.
+ */
+final class Workload {
+
+    enum Operation {
+        SUBMIT("POST /api/expenses/submit"),
+        LIST("GET /api/expenses"),
+        DEPARTMENT("GET /api/expenses/department/{id}"),
+        APPROVE("PATCH /api/expenses/{id}/approve"),
+        OVERVIEW("GET /api/departments/budget-overview"),
+        LOGIN("POST /api/auth/login");
+
+        final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    record Client(String username, String employeeToken, String managerToken, long departmentId) {
+    }
+
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+    private final Duration thinkTime;
+    private final Queue<Long> pendingExpenses;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private volatile boolean measuring;
+
+    Workload(URI baseUri, ObjectMapper objectMapper, Map<Operation, Integer> mix, Duration thinkTime,
+             List<Long> pendingExpenseIds) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.thinkTime = thinkTime;
+        this.pendingExpenses = new ConcurrentLinkedQueue<>(pendingExpenseIds);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.endpoint));
+        }
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight.");
+        }
+    }
+
+    // "submit:25,list:20,..." with any subset of the operations; unnamed operations get weight 0
+    static Map<Operation, Integer> parseMix(String text) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : text.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like operation:weight, got '" + entry + "'.");
+            }
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    /** Runs the clients for warmup + duration; only the duration part is recorded. */
+    Map<String, EndpointStats.Summary> run(List<Client> clients, Duration warmup, Duration duration, long seed)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        SplittableRandom seeds = new SplittableRandom(seed);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Client client : clients) {
+                SplittableRandom random = seeds.split();
+                executor.submit(() -> {
+                    try {
+                        drive(client, random, end);
+                    } catch (RuntimeException e) {
+                        System.err.println("--- Client " + client.username() + " stopped: " + e + " ---");
+                    }
+                });
+            }
+            sleepUntil(measureFrom);
+            measuring = true;
+            System.out.println("--- Warm-up done; measuring for " + duration.toSeconds() + " s ---");
+            sleepUntil(end);
+            measuring = false;
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        Map<String, EndpointStats.Summary> summaries = new LinkedHashMap<>();
+        double seconds = duration.toNanos() / 1e9;
+        mix.forEach((operation, weight) -> {
+            if (weight > 0) {
+                summaries.put(operation.endpoint, stats.get(operation).summarize(seconds));
+            }
+        });
+        return summaries;
+    }
+
+    private void drive(Client client, SplittableRandom random, long end) {
+        while (System.nanoTime() < end) {
+            Operation operation = pick(random);
+            Long approving = null;
+            if (operation == Operation.APPROVE) {
+                approving = pendingExpenses.poll();
+                if (approving == null) {
+                    operation = Operation.SUBMIT; // nothing left to review
+                }
+            }
+            HttpRequest request = request(operation, client, approving, random);
+            long started = System.nanoTime();
+            int status = 0;
+            String body = null;
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                body = response.body();
+            } catch (IOException e) {
+                // counted as an io-error below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long elapsed = System.nanoTime() - started;
+            if (measuring) {
+                stats.get(operation).record(status, elapsed);
+            }
+            if (operation == Operation.SUBMIT && status == 201) {
+                pendingExpenses.add(idOf(body));
+            }
+            if (!thinkTime.isZero()) {
+                try {
+                    Thread.sleep(thinkTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private HttpRequest request(Operation operation, Client client, Long expenseId, SplittableRandom random) {
+        return switch (operation) {
+            case SUBMIT -> json(client.employeeToken(), "/api/expenses/submit", Map.of(
+                    "title", "Load test expense",
+                    "amount", random.nextInt(500, 50_000) / 100.0,
+                    "category", CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    "departmentId", client.departmentId())).build();
+            case LIST -> get(client.employeeToken(), "/api/expenses?size=50").build();
+            case DEPARTMENT -> get(client.managerToken(), "/api/expenses/department/" + client.departmentId() + "?size=50")
+                    .build();
+            case APPROVE -> authorized(client.managerToken(), "/api/expenses/" + expenseId + "/approve")
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+            case OVERVIEW -> get(client.managerToken(), "/api/departments/budget-overview").build();
+            case LOGIN -> json(null, "/api/auth/login", Map.of(
+                    "username", client.username(), "password", SyntheticDataSeeder.PASSWORD)).build();
+        };
+    }
+
+    private HttpRequest.Builder get(String token, String path) {
+        return authorized(token, path).GET();
+    }
+
+    private HttpRequest.Builder json(String token, String path, Map<String, Object> body) {
+        try {
+            return authorized(token, path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(60));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private long idOf(String body) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            return node.get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
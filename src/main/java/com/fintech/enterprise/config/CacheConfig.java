@@ -0,0 +1,58 @@
+package com.fintech.enterprise.config;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.service.EntityCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-through caches in front of DepartmentService and UserService lookups. Users are cached under
+ * both keys because approvals look them up by id and every authenticated write by username.
+ */
+@Configuration
+public class CacheConfig {
+
+    private final long maxSize;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    // Shared by all three caches, one virtual thread per miss. Not a bean: an Executor bean would replace
+    // Boot's applicationTaskExecutor, which runs the streamed exports.
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CacheConfig(@Value("${cache.entities.max-size:10000}") long maxSize,
+                       @Value("${cache.entities.ttl:10m}") Duration ttl,
+                       MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Lets in-flight loads finish, then ends the executor with the context
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.close();
+    }
+
+    @Bean
+    public EntityCache<Long, Department> departmentCache() {
+        return new EntityCache<>("departments", maxSize, ttl, loadExecutor, meterRegistry);
+    }
+
+    @Bean
+    public EntityCache<Long, User> userByIdCache() {
+        return new EntityCache<>("users.by-id", maxSize, ttl, loadExecutor, meterRegistry);
+    }
+
+    @Bean
+    public EntityCache<String, User> userByUsernameCache() {
+        return new EntityCache<>("users.by-username", maxSize, ttl, loadExecutor, meterRegistry);
+    }
+}
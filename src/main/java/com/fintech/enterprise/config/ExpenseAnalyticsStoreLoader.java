@@ -0,0 +1,34 @@
+package com.fintech.enterprise.config;
+
+import com.fintech.enterprise.service.ExpenseAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * The analytics store lives in memory, so it is loaded from the expense table on every start.
+ * Changes committed while it loads are replayed onto it, so nothing is missed.
+ */
+@Component
+@Order(2)
+public class ExpenseAnalyticsStoreLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseAnalyticsStoreLoader.class);
+
+    private final ExpenseAnalyticsService analyticsService;
+
+    public ExpenseAnalyticsStoreLoader(ExpenseAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        int loaded = analyticsService.rebuildStore();
+        log.info("Loaded {} expenses into the analytics store in {} ms", loaded,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,33 @@
+package com.fintech.enterprise.config;
+
+import com.fintech.enterprise.service.ExpenseSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * The search index lives in memory, so it is loaded from the expense table on every start.
+ * Changes committed while it loads are replayed onto it, so nothing is missed.
+ */
+@Component
+@Order(1)
+public class ExpenseSearchIndexLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSearchIndexLoader.class);
+
+    private final ExpenseSearchService searchService;
+
+    public ExpenseSearchIndexLoader(ExpenseSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        int indexed = searchService.rebuildIndex();
+        log.info("Indexed {} expenses for search in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,41 @@
+package com.fintech.enterprise.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expense ids used to come from an IDENTITY column. When the schema update creates expense_seq on an
+ * existing database it starts at 1, so move it past the highest id already in use before any insert.
+ */
+@Component
+@Order(0)
+public class ExpenseSequenceAligner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSequenceAligner.class);
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExpenseSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM expense", Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT nextval('expense_seq')", Long.class);
+
+        // The pooled optimizer hands out ids up to ALLOCATION_SIZE below the sequence value
+        if (maxId > 0 && next - ALLOCATION_SIZE < maxId) {
+            long restartWith = maxId + ALLOCATION_SIZE + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE expense_seq RESTART WITH " + restartWith);
+            log.info("Realigned expense_seq to {}", restartWith);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fintech.enterprise.config;
 
 import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Money;
 import com.fintech.enterprise.model.Role;
 import com.fintech.enterprise.model.User;
 import com.fintech.enterprise.repository.DepartmentRepository;
@@ -10,7 +11,6 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Component
@@ -35,13 +35,13 @@ public class InitialDataLoader implements CommandLineRunner {
 
             // 1. Create Departments
             Department techDept = departmentRepository.save(
-                    new Department(null, "Technology", new BigDecimal("100000.00"), BigDecimal.ZERO)
+                    new Department(null, "Technology", Money.of("100000.00"), Money.ZERO)
             );
             Department hrDept = departmentRepository.save(
-                    new Department(null, "Human Resources", new BigDecimal("50000.00"), BigDecimal.ZERO)
+                    new Department(null, "Human Resources", Money.of("50000.00"), Money.ZERO)
             );
             Department salesDept = departmentRepository.save(
-                    new Department(null, "Sales", new BigDecimal("150000.00"), BigDecimal.ZERO)
+                    new Department(null, "Sales", Money.of("150000.00"), Money.ZERO)
             );
 
             // 2. Create Users (passwords are 'password' for all)
@@ -14,4 +14,9 @@ public class JacksonConfig {
         // If the association is EAGER (which we recommend for 'submittedBy'), it will be serialized.
         return new Hibernate6Module();
     }
+
+    @Bean
+    public MoneyModule moneyModule() {
+        return new MoneyModule();
+    }
 }
@@ -0,0 +1,18 @@
+package com.fintech.enterprise.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Timer shared by every @Timed service; TimedAspect tags each sample with class and method.
+    public static final String SERVICE_TIMER = "fintrack.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.fintech.enterprise.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fintech.enterprise.model.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * JSON form of {@link Money}: a plain number with two decimals ("amount": 85.50), as the BigDecimal
+ * amounts were written before. Numbers and numeric strings are accepted on input; extra decimals are
+ * rounded HALF_UP like the database does.
+ */
+public class MoneyModule extends SimpleModule {
+
+    public MoneyModule() {
+        super("MoneyModule");
+        addSerializer(Money.class, new MoneySerializer());
+        addDeserializer(Money.class, new MoneyDeserializer());
+    }
+
+    static final class MoneySerializer extends StdScalarSerializer<Money> {
+
+        MoneySerializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.toString()); // raw numeric text; no BigDecimal on the way out
+        }
+    }
+
+    static final class MoneyDeserializer extends StdScalarDeserializer<Money> {
+
+        MoneyDeserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_NUMBER_INT) || parser.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+                BigDecimal amount = parser.getDecimalValue();
+                try {
+                    return Money.of(amount);
+                } catch (ArithmeticException e) {
+                    return (Money) context.handleWeirdNumberValue(Money.class, amount, "amount out of range");
+                }
+            }
+            if (parser.hasToken(JsonToken.VALUE_STRING)) {
+                String text = parser.getText().trim();
+                try {
+                    return Money.of(text);
+                } catch (NumberFormatException | ArithmeticException e) {
+                    return (Money) context.handleWeirdStringValue(Money.class, text, "not a valid amount");
+                }
+            }
+            return (Money) context.handleUnexpectedToken(Money.class, parser);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.fintech.enterprise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write split, on when datasource.replica.url is set: spring.datasource.* (with .hikari.*) stays the
+ * primary, datasource.replica.* (with .hikari.*) describes the replica, and {@link ReadReplicaDataSource}
+ * routes between them. Without the property the single auto-configured pool is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReadReplicaConfig {
+
+    // Seconds the replica is behind; 0 when it has replayed everything it received (an idle primary sends nothing)
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties, Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${datasource.replica.lag-query:}") String lagQuery,
+                                 @Value("${datasource.replica.max-lag:2s}") Duration maxLag,
+                                 @Value("${datasource.replica.check-interval:1s}") Duration checkInterval) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        DataSourceProperties replicaProperties = binder.bind("datasource.replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("datasource.replica.* is incomplete"));
+        HikariDataSource replica = replicaProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setConnectionTimeout(2_000); // a replica that cannot hand out connections falls back quickly
+        binder.bind("datasource.replica.hikari", Bindable.ofInstance(replica));
+
+        MicrometerMetricsTrackerFactory poolMetrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(poolMetrics);
+        replica.setMetricsTrackerFactory(poolMetrics);
+
+        return new ReadReplicaDataSource(primary, replica, lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery,
+                maxLag, checkInterval, meterRegistry);
+    }
+
+    // Hibernate otherwise keeps the first connection for the whole session, which under open-in-view is the
+    // whole request: a read-only transaction early in the request would send its later writes to the replica
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
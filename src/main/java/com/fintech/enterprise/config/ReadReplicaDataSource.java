@@ -0,0 +1,145 @@
+package com.fintech.enterprise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends read-only transactions (Spring Data's reads, {@code @Transactional(readOnly = true)}) to a read
+ * replica and everything else to the primary. Reads also go to the primary while the replica is unhealthy:
+ * every check-interval the lag query runs on the replica, and a failure or a lag above max-lag takes it out
+ * of rotation until a check passes again. So a read-only request sees data at most about max-lag plus
+ * check-interval old; reads that must not lag use {@link ReadRouting#onPrimary}.
+ * <p>
+ * The physical connection is only taken at the first statement, once the transaction's read-only flag is
+ * known, and Hibernate must release it after each transaction (see ReadReplicaConfig).
+ * <p>
+ * Metrics: fintrack.datasource.replica.lag (seconds), fintrack.datasource.replica.available and
+ * fintrack.datasource.replica.fallbacks (read-only connections the primary served instead).
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Counter fallbacks;
+    private final ScheduledExecutorService checker;
+    private final AtomicBoolean replicaAvailable = new AtomicBoolean();
+    private volatile double lagSeconds = Double.NaN; // NaN: unknown
+
+    public ReadReplicaDataSource(HikariDataSource primary, HikariDataSource replica, String lagQuery, Duration maxLag,
+                                 Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.fallbacks = meterRegistry.counter("fintrack.datasource.replica.fallbacks");
+        meterRegistry.gauge("fintrack.datasource.replica.lag", this, dataSource -> dataSource.lagSeconds);
+        meterRegistry.gauge("fintrack.datasource.replica.available", this,
+                dataSource -> dataSource.isReplicaAvailable() ? 1 : 0);
+        setTargetDataSource(new Router());
+        afterPropertiesSet();
+
+        // Until the first check passes, reads stay on the primary
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkReplica, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable.get();
+    }
+
+    // --- Health ---
+
+    /** Runs the lag query now and takes the replica in or out of rotation; returns whether it is in. */
+    public boolean checkReplica() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            BigDecimal lag = rs.next() ? rs.getBigDecimal(1) : null;
+            if (lag == null) {
+                lagSeconds = Double.NaN;
+                markUnavailable("the lag query returned no value", null);
+                return false;
+            }
+            lagSeconds = lag.doubleValue();
+            if (lag.compareTo(BigDecimal.valueOf(maxLag.toMillis(), 3)) > 0) {
+                markUnavailable("lag " + lag + " s is above " + maxLag.toMillis() + " ms", null);
+                return false;
+            }
+            if (replicaAvailable.compareAndSet(false, true)) {
+                log.info("Read replica in rotation (lag {} s)", lag);
+            }
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            lagSeconds = Double.NaN;
+            markUnavailable("the lag query failed", e);
+            return false;
+        }
+    }
+
+    // Reported once per outage, not on every check
+    private void markUnavailable(String reason, Exception cause) {
+        if (replicaAvailable.compareAndSet(true, false)) {
+            log.warn("Read replica out of rotation, reads go to the primary: {}", reason, cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        replica.close();
+        primary.close();
+    }
+
+    // --- Routing ---
+
+    // Asked for a connection at the first statement, when the transaction's read-only flag is already set
+    private final class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadRouting.primaryRequired()) {
+                return primary.getConnection();
+            }
+            if (replicaAvailable.get()) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    markUnavailable("no connection to the replica", e);
+                }
+            }
+            fallbacks.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Credentials are set on the primary and replica pools.");
+        }
+    }
+}
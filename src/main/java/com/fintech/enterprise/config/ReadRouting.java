@@ -0,0 +1,34 @@
+package com.fintech.enterprise.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps reads on the primary when a read replica is configured (see {@link ReadReplicaDataSource}), which
+ * otherwise serves every read-only transaction. Use it for reads whose result outlives the request or must
+ * see the latest commit: cache fills (a lagging replica would pin pre-change data under a post-change key),
+ * index rebuilds, and credential checks. Without a replica it changes nothing.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    // Covers connections taken on the calling thread only; async loaders must call this themselves
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (PRIMARY.get() != null) {
+            return read.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    static boolean primaryRequired() {
+        return PRIMARY.get() != null;
+    }
+}
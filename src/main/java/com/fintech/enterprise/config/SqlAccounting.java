@@ -0,0 +1,170 @@
+package com.fintech.enterprise.config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL run inside a scope: statements executed, rows read and changed, time spent in the driver,
+ * and how often each distinct statement ran. {@link SqlAccountingDataSource} feeds it for every connection
+ * taken while a scope is open; {@link SqlAccountingFilter} opens one per HTTP request.
+ * <p>
+ * Scopes are inherited by threads started inside them (entity-cache loads and dashboard queries run on
+ * virtual threads of their own), and nest: statements count toward every enclosing scope. A scope stops
+ * counting when it is closed, even if a thread it was inherited by lives on.
+ */
+public final class SqlAccounting {
+
+    // Distinct statements tracked per scope; any beyond are still counted, just not individually
+    private static final int MAX_DISTINCT_STATEMENTS = 500;
+
+    private static final InheritableThreadLocal<Recorder> CURRENT = new InheritableThreadLocal<>();
+
+    private SqlAccounting() {
+    }
+
+    /** Runs {@code action} in a new scope on the current thread and returns what it ran. */
+    public static Stats measure(SqlAction action) throws Exception {
+        Scope scope = open();
+        try {
+            action.run();
+        } finally {
+            scope.close();
+        }
+        return scope.stats();
+    }
+
+    public static Scope open() {
+        Recorder parent = CURRENT.get();
+        Recorder recorder = new Recorder(parent != null && !parent.closed ? parent : null);
+        CURRENT.set(recorder);
+        return new Scope(recorder, parent);
+    }
+
+    // The innermost open scope of this thread, or null when nothing is being counted
+    static Recorder current() {
+        Recorder recorder = CURRENT.get();
+        return recorder != null && !recorder.closed ? recorder : null;
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Recorder recorder;
+        private final Recorder previous;
+
+        private Scope(Recorder recorder, Recorder previous) {
+            this.recorder = recorder;
+            this.previous = previous;
+        }
+
+        public Stats stats() {
+            return recorder.snapshot();
+        }
+
+        @Override
+        public void close() {
+            recorder.closed = true;
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * What a scope ran. {@code executions} maps each distinct SQL string to how often it ran, most frequent
+     * first; with prepared statements the same string means the same statement with different parameters.
+     */
+    public record Stats(long statements, long rowsRead, long rowsUpdated, Duration time,
+                        Map<String, Long> executions) {
+
+        /** Statements that ran at least {@code threshold} times: the shape of an N+1 pattern. */
+        public Map<String, Long> repeatedStatements(int threshold) {
+            Map<String, Long> repeated = new LinkedHashMap<>();
+            executions.forEach((sql, count) -> {
+                if (count >= threshold) {
+                    repeated.put(sql, count);
+                }
+            });
+            return repeated;
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + rowsRead + " rows read, " + rowsUpdated + " rows updated, "
+                    + time.toMillis() + " ms";
+        }
+    }
+
+    // Written to from every thread the scope was inherited by
+    static final class Recorder {
+
+        private final Recorder parent;
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rowsRead = new LongAdder();
+        private final LongAdder rowsUpdated = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final Map<String, AtomicLong> executions = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        private Recorder(Recorder parent) {
+            this.parent = parent;
+        }
+
+        void executed(String sql, long elapsedNanos) {
+            for (Recorder r = this; r != null; r = r.parent) {
+                if (!r.closed) {
+                    r.statements.increment();
+                    r.nanos.add(elapsedNanos);
+                    r.count(sql);
+                }
+            }
+        }
+
+        void rowRead() {
+            for (Recorder r = this; r != null; r = r.parent) {
+                if (!r.closed) {
+                    r.rowsRead.increment();
+                }
+            }
+        }
+
+        void rowsUpdated(long rows) {
+            for (Recorder r = this; r != null; r = r.parent) {
+                if (!r.closed) {
+                    r.rowsUpdated.add(rows);
+                }
+            }
+        }
+
+        private void count(String sql) {
+            AtomicLong count = executions.get(sql);
+            if (count == null && executions.size() < MAX_DISTINCT_STATEMENTS) {
+                count = executions.computeIfAbsent(sql, s -> new AtomicLong());
+            }
+            if (count != null) {
+                count.incrementAndGet();
+            }
+        }
+
+        private Stats snapshot() {
+            Map<String, Long> byCount = new LinkedHashMap<>();
+            executions.entrySet().stream()
+                    .sorted(Map.Entry.<String, AtomicLong>comparingByValue(
+                            (a, b) -> Long.compare(b.get(), a.get())))
+                    .forEach(e -> byCount.put(e.getKey(), e.getValue().get()));
+            return new Stats(statements.sum(), rowsRead.sum(), rowsUpdated.sum(), Duration.ofNanos(nanos.sum()),
+                    Collections.unmodifiableMap(byCount));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fintech.enterprise.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Per-request SQL accounting (see {@link SqlAccounting}): the application DataSource is wrapped so its
+ * connections report to the request's scope, and a filter around the whole chain (security included)
+ * reports requests over the sql.accounting.* budget. Tests assert on the same numbers with SqlBudget.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    // Static: post-processors are instantiated before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlAccountingDataSource)
+                        ? new SqlAccountingDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+            @Value("${sql.accounting.statement-budget:20}") int statementBudget,
+            @Value("${sql.accounting.time-budget:500ms}") Duration timeBudget,
+            @Value("${sql.accounting.repeat-threshold:5}") int repeatThreshold,
+            @Value("${sql.accounting.report-interval:1m}") Duration reportInterval,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlAccountingFilter> registration = new FilterRegistrationBean<>(
+                new SqlAccountingFilter(statementBudget, timeBudget, repeatThreshold, reportInterval, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
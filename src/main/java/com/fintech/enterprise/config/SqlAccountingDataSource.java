@@ -0,0 +1,161 @@
+package com.fintech.enterprise.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports the statements run on its connections to the {@link SqlAccounting} scope that was open when the
+ * connection was taken. Connections taken outside any scope (startup loaders, the outbox relay, the export
+ * stream once its request has returned) are handed out unwrapped and cost nothing extra.
+ * <p>
+ * Covers Hibernate and JdbcTemplate alike: a statement is one execute call (a JDBC batch counts once),
+ * its time is the time spent in that call, rows read are ResultSet rows iterated, rows updated are the
+ * driver's update counts.
+ */
+public class SqlAccountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final String UNKNOWN_SQL = "(batch of unprepared statements)";
+
+    // Resolved once: Proxy.newProxyInstance looks the proxy class up again on every call
+    private static final ClassValue<Constructor<?>> PROXY_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return Proxy.newProxyInstance(SqlAccountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                        (proxy, method, args) -> null).getClass().getConstructor(InvocationHandler.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    public SqlAccountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return account(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return account(super.getConnection(username, password));
+    }
+
+    // The wrapper replaces the pool's bean, so the context closes the pool through it
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private static Connection account(Connection connection) {
+        SqlAccounting.Recorder recorder = SqlAccounting.current();
+        return recorder == null ? connection : proxy(Connection.class, new ConnectionHandler(connection, recorder));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        try {
+            return type.cast(PROXY_CONSTRUCTORS.get(type).newInstance(handler));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // --- JDBC proxies ---
+
+    private record ConnectionHandler(Connection target, SqlAccounting.Recorder recorder) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlAccountingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0], recorder));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0], recorder));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null, recorder));
+                default -> result;
+            };
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql, SqlAccounting.Recorder recorder)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = SqlAccountingDataSource.invoke(target, method, args);
+                return name.equals("getResultSet") && result != null ? resultSet((ResultSet) result) : result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = SqlAccountingDataSource.invoke(target, method, args);
+            } finally {
+                recorder.executed(sql != null ? sql : UNKNOWN_SQL, System.nanoTime() - start);
+            }
+            switch (result) {
+                case ResultSet rows -> {
+                    return resultSet(rows);
+                }
+                case Integer updated -> recorder.rowsUpdated(Math.max(updated, 0));
+                case Long updated -> recorder.rowsUpdated(Math.max(updated, 0));
+                case int[] batch -> {
+                    for (int updated : batch) {
+                        recorder.rowsUpdated(Math.max(updated, 0)); // SUCCESS_NO_INFO is negative
+                    }
+                }
+                case long[] batch -> {
+                    for (long updated : batch) {
+                        recorder.rowsUpdated(Math.max(updated, 0));
+                    }
+                }
+                case null, default -> {
+                }
+            }
+            return result;
+        }
+
+        private ResultSet resultSet(ResultSet rows) {
+            return proxy(ResultSet.class, new ResultSetHandler(rows, recorder));
+        }
+    }
+
+    private record ResultSetHandler(ResultSet target, SqlAccounting.Recorder recorder) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlAccountingDataSource.invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                recorder.rowRead();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.fintech.enterprise.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accounts the SQL of each request and reports the ones over budget: more statements or more SQL time than
+ * allowed, or any statement run repeatedly (a probable N+1, e.g. a lazy association touched per row).
+ * Every such request counts in fintrack.sql.budget.exceeded / fintrack.sql.repeated, tagged with the route
+ * template. The WARN log report, with the statements involved, is limited to one per route and kind per
+ * sql.accounting.report-interval; the next one says how many were suppressed meanwhile.
+ */
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlAccountingFilter.class);
+    private static final int MAX_SQL_LENGTH = 300;
+
+    // Reports due for one route and kind: the earliest time the next may be logged, and how many were dropped
+    private static final class ReportWindow {
+        final AtomicLong nextReportAt;
+        final LongAdder suppressed = new LongAdder();
+
+        ReportWindow(long now) {
+            this.nextReportAt = new AtomicLong(now);
+        }
+    }
+
+    private final int statementBudget;
+    private final Duration timeBudget;
+    private final int repeatThreshold;
+    private final long reportIntervalNanos;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ReportWindow> windows = new ConcurrentHashMap<>(); // keyed by route template: bounded
+
+    public SqlAccountingFilter(int statementBudget, Duration timeBudget, int repeatThreshold, Duration reportInterval,
+                               MeterRegistry meterRegistry) {
+        this.statementBudget = statementBudget;
+        this.timeBudget = timeBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.reportIntervalNanos = reportInterval.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlAccounting.Scope scope = SqlAccounting.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            report(request, scope.stats());
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlAccounting.Stats stats) {
+        if (stats.statements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String route = request.getMethod() + " " + request.getRequestURI();
+
+        if (stats.statements() > statementBudget || stats.time().compareTo(timeBudget) > 0) {
+            meterRegistry.counter("fintrack.sql.budget.exceeded", "uri", uri).increment();
+            long suppressed = admit("budget " + request.getMethod() + " " + uri);
+            if (suppressed >= 0) {
+                log.warn("SQL budget exceeded by {}: {} (budget {} statements, {} ms){}", route, stats,
+                        statementBudget, timeBudget.toMillis(), suppressedNote(suppressed));
+            }
+        }
+        Map<String, Long> repeated = stats.repeatedStatements(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("fintrack.sql.repeated", "uri", uri).increment();
+            long suppressed = admit("repeated " + request.getMethod() + " " + uri);
+            if (suppressed >= 0) {
+                StringBuilder statements = new StringBuilder();
+                repeated.forEach((sql, count) -> statements.append("\n    ").append(count).append("x ").append(
+                        sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql));
+                log.warn("Probable N+1 in {}{}:{}", route, suppressedNote(suppressed), statements);
+            }
+        }
+    }
+
+    // Returns how many reports were suppressed since the last one logged, or -1 when this one is suppressed too
+    private long admit(String key) {
+        if (!log.isWarnEnabled()) {
+            return -1;
+        }
+        long now = System.nanoTime();
+        ReportWindow window = windows.computeIfAbsent(key, k -> new ReportWindow(now));
+        long due = window.nextReportAt.get();
+        if (now - due < 0 || !window.nextReportAt.compareAndSet(due, now + reportIntervalNanos)) {
+            window.suppressed.increment();
+            return -1;
+        }
+        return window.suppressed.sumThenReset();
+    }
+
+    private static String suppressedNote(long suppressed) {
+        return suppressed == 0 ? "" : " (" + suppressed + " similar reports suppressed)";
+    }
+}
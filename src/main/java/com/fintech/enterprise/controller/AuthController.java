@@ -1,50 +1,50 @@
 package com.fintech.enterprise.controller;
 
 import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.security.LoginRateLimiter;
 import com.fintech.enterprise.service.AuthService;
+import com.fintech.enterprise.service.dto.AuthTokensDTO;
 import com.fintech.enterprise.service.dto.LoginDTO;
+import com.fintech.enterprise.service.dto.RefreshTokenDTO;
 import com.fintech.enterprise.service.dto.RegisterDTO;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
+    // Failures surface through GlobalExceptionHandler: 400 for bad credentials, 429 when admission control refuses
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterDTO request) {
-        try {
-            User user = authService.register(
-                    request.getUsername(),
-                    request.getPassword(),
-                    request.getRole()
-            );
-            return ResponseEntity.ok(user);
-        } catch (Exception e) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(Map.of("error", e.getMessage()));
-        }
+    public ResponseEntity<User> register(@RequestBody RegisterDTO request) {
+        User user = authService.register(
+                request.getUsername(),
+                request.getPassword(),
+                request.getRole()
+        );
+        return ResponseEntity.ok(user);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginDTO request) {
-        try {
-            String token = authService.login(
-                    request.getUsername(),
-                    request.getPassword()
-            );
-            return ResponseEntity.ok(Map.of("token", token));
-        } catch (Exception e) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(Map.of("error", e.getMessage()));
-        }
+    public ResponseEntity<AuthTokensDTO> login(@RequestBody LoginDTO request, HttpServletRequest httpRequest) {
+        // Throttled per client address before any lookup or hashing
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr());
+        AuthTokensDTO tokens = authService.login(
+                request.getUsername(),
+                request.getPassword()
+        );
+        return ResponseEntity.ok(tokens);
+    }
+
+    // Exchanges a refresh token for a new access/refresh pair (no password hashing involved)
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthTokensDTO> refresh(@RequestBody RefreshTokenDTO request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
     }
 }
@@ -0,0 +1,43 @@
+package com.fintech.enterprise.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET with 304 Not Modified when the client's If-None-Match still matches the given version, before
+ * the data query runs or anything is serialized. The version must be read before the data it describes: a
+ * change that lands in between then makes the tag older than the body, which only costs the client a refetch.
+ * <p>
+ * Version and body are read in one read-only transaction, so on one connection: a replica serves both, and
+ * one that lags serves an older tag along with the older body it describes.
+ */
+@Component
+class ConditionalGet {
+
+    // Stored by the browser only, and revalidated on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    ConditionalGet(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    <T> ResponseEntity<T> respond(WebRequest request, Supplier<String> version, Supplier<T> body) {
+        return readOnlyTransaction.execute(status -> {
+            String etag = "\"" + version.get() + "\"";
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).<T>build();
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.fintech.enterprise.controller;
+
+import com.fintech.enterprise.service.DashboardService;
+import com.fintech.enterprise.service.dto.DashboardDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // Budget overview, biggest expense this month and the newest expenses per category in one call
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<DashboardDTO> getDashboard(@RequestParam(defaultValue = "10") int perCategory) {
+        return ResponseEntity.ok(dashboardService.getDashboard(perCategory));
+    }
+}
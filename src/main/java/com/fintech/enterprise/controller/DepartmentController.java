@@ -1,7 +1,9 @@
 package com.fintech.enterprise.controller;
 
 import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.service.BudgetOverviewCache;
 import com.fintech.enterprise.service.DepartmentService;
+import com.fintech.enterprise.service.ExpenseChangeWatermark;
 import com.fintech.enterprise.service.dto.BudgetOverviewDTO;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,10 +20,17 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final ExpenseChangeWatermark changeWatermark;
+    private final BudgetOverviewCache budgetOverviewCache;
+    private final ConditionalGet conditionalGet;
 
     @Autowired
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, ExpenseChangeWatermark changeWatermark,
+                                BudgetOverviewCache budgetOverviewCache, ConditionalGet conditionalGet) {
         this.departmentService = departmentService;
+        this.changeWatermark = changeWatermark;
+        this.budgetOverviewCache = budgetOverviewCache;
+        this.conditionalGet = conditionalGet;
     }
 
     // --- CRUD Endpoints (Admin only) ---
@@ -35,9 +45,9 @@ public class DepartmentController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<List<Department>> getAllDepartments() {
-        List<Department> departments = departmentService.findAllDepartments();
-        return ResponseEntity.ok(departments);
+    public ResponseEntity<List<Department>> getAllDepartments(WebRequest request) {
+        // Spend moves with every approval and members with every user edit; both move the watermark
+        return conditionalGet.respond(request, () -> "a" + changeWatermark.any(), departmentService::findAllDepartments);
     }
 
     @GetMapping("/{id}")
@@ -81,8 +91,8 @@ public class DepartmentController {
 
     @GetMapping("/budget-overview")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<List<BudgetOverviewDTO>> getBudgetOverview() {
-        List<BudgetOverviewDTO> overview = departmentService.getBudgetOverview();
-        return ResponseEntity.ok(overview);
+    public ResponseEntity<List<BudgetOverviewDTO>> getBudgetOverview(WebRequest request) {
+        return conditionalGet.respond(request, () -> "o" + budgetOverviewCache.version(),
+                departmentService::getBudgetOverview);
     }
 }
@@ -2,24 +2,68 @@ package com.fintech.enterprise.controller;
 
 import com.fintech.enterprise.model.Expense;
 import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.service.ExpenseAnalyticsService;
+import com.fintech.enterprise.service.ExpenseAnalyticsStore;
+import com.fintech.enterprise.service.ExpenseChangeWatermark;
+import com.fintech.enterprise.service.ExpenseExportService;
+import com.fintech.enterprise.service.ExpenseRollupService;
+import com.fintech.enterprise.service.ExpenseSearchService;
 import com.fintech.enterprise.service.ExpenseService;
+import com.fintech.enterprise.service.ExportFormat;
+import com.fintech.enterprise.service.dto.BulkReviewResultDTO;
+import com.fintech.enterprise.service.dto.ExpenseAnalyticsDTO;
+import com.fintech.enterprise.service.dto.BulkSubmitResultDTO;
+import com.fintech.enterprise.service.dto.ExpenseExportFilter;
+import com.fintech.enterprise.service.dto.ExpensePageDTO;
+import com.fintech.enterprise.service.dto.ExpensePercentilesDTO;
+import com.fintech.enterprise.service.dto.ExpenseQueryFilter;
 import com.fintech.enterprise.service.dto.ExpenseRequestDTO;
+import com.fintech.enterprise.service.dto.ExpenseReviewRequestDTO;
+import com.fintech.enterprise.service.dto.ExpenseRollupDTO;
+import com.fintech.enterprise.service.dto.ExpenseSearchResultDTO;
+import com.fintech.enterprise.service.dto.RollupMismatchDTO;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.security.Principal;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/expenses")
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseRollupService rollupService;
+    private final ExpenseExportService exportService;
+    private final ExpenseSearchService searchService;
+    private final ExpenseAnalyticsService analyticsService;
+    private final ExpenseChangeWatermark changeWatermark;
+    private final ConditionalGet conditionalGet;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService, ExpenseRollupService rollupService,
+                             ExpenseExportService exportService, ExpenseSearchService searchService,
+                             ExpenseAnalyticsService analyticsService, ExpenseChangeWatermark changeWatermark,
+                             ConditionalGet conditionalGet) {
         this.expenseService = expenseService;
+        this.rollupService = rollupService;
+        this.exportService = exportService;
+        this.searchService = searchService;
+        this.analyticsService = analyticsService;
+        this.changeWatermark = changeWatermark;
+        this.conditionalGet = conditionalGet;
     }
 
     // --- Core CRUD ---
@@ -33,15 +77,17 @@ public class ExpenseController {
         return new ResponseEntity<>(newExpense, HttpStatus.CREATED);
     }
 
+    // Submits up to expense.bulk.max-items expenses at once; invalid entries are reported per index
+    @PostMapping("/submit/bulk")
+    public BulkSubmitResultDTO createExpenses(@RequestBody List<ExpenseRequestDTO> expenseDtos) {
+        return expenseService.createExpenses(expenseDtos);
+    }
+
+    // Not found / not PENDING -> 400 and unresolvable concurrent edits -> 409, via GlobalExceptionHandler
     @PutMapping("/{id}")
     public ResponseEntity<Expense> updateExpense(@PathVariable Long id, @RequestBody Expense expenseDetails) {
-        try {
-            Expense updatedExpense = expenseService.updateExpense(id, expenseDetails);
-            return ResponseEntity.ok(updatedExpense);
-        } catch (Exception e) {
-            // Handle EntityNotFoundException or IllegalStateException
-            return ResponseEntity.badRequest().build();
-        }
+        Expense updatedExpense = expenseService.updateExpense(id, expenseDetails);
+        return ResponseEntity.ok(updatedExpense);
     }
 
     @DeleteMapping("/{id}")
@@ -59,30 +105,101 @@ public class ExpenseController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // List endpoints are cursor-paginated: pass the returned nextCursor back as ?cursor= to get the next page.
+    // They carry an ETag; a request whose If-None-Match still matches gets 304 after one watermark lookup.
+
     @GetMapping
-    public List<Expense> getAllExpenses() {
-        return expenseService.findAllExpenses();
+    public ResponseEntity<ExpensePageDTO> getAllExpenses(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size,
+                                                         WebRequest request) {
+        return conditionalGet.respond(request, () -> "e" + changeWatermark.any(),
+                () -> expenseService.findAllExpenses(cursor, size));
     }
 
     @GetMapping("/user/{userId}")
-    public List<Expense> getExpensesByUser(@PathVariable Long userId) {
-        return expenseService.findExpensesByUser(userId);
+    public ResponseEntity<ExpensePageDTO> getExpensesByUser(@PathVariable Long userId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size,
+                                                            WebRequest request) {
+        return conditionalGet.respond(request, () -> "e" + changeWatermark.any(),
+                () -> expenseService.findExpensesByUser(userId, cursor, size));
     }
 
     @GetMapping("/department/{deptId}")
-    public List<Expense> getExpensesByDepartment(@PathVariable Long deptId) {
-        return expenseService.findExpensesByDepartment(deptId);
+    public ResponseEntity<ExpensePageDTO> getExpensesByDepartment(@PathVariable Long deptId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer size,
+                                                                  WebRequest request) {
+        return conditionalGet.respond(request, () -> "d" + changeWatermark.department(deptId),
+                () -> expenseService.findExpensesByDepartment(deptId, cursor, size));
     }
 
     @GetMapping("/category/{category}")
-    public List<Expense> getExpensesByCategory(@PathVariable String category) {
+    public ResponseEntity<ExpensePageDTO> getExpensesByCategory(@PathVariable String category,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size,
+                                                                WebRequest request) {
+        ExpenseCategory expenseCategory;
         try {
-            ExpenseCategory expenseCategory = ExpenseCategory.valueOf(category.toUpperCase());
-            return expenseService.findExpensesByCategory(expenseCategory);
+            expenseCategory = ExpenseCategory.valueOf(category.toUpperCase());
         } catch (IllegalArgumentException e) {
             // Log or handle the case where the category string is invalid
-            return List.of();
+            return ResponseEntity.ok(new ExpensePageDTO(List.of(), null));
         }
+        return conditionalGet.respond(request, () -> "e" + changeWatermark.any(),
+                () -> expenseService.findExpensesByCategory(expenseCategory, cursor, size));
+    }
+
+    // Any combination of criteria, e.g. ?departmentId=2&status=PENDING&from=2025-01-01&minAmount=100; dates inclusive
+    @GetMapping("/query")
+    public ResponseEntity<ExpensePageDTO> queryExpenses(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) ExpenseCategory category,
+            @RequestParam(required = false) ExpenseStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        ExpenseQueryFilter filter = new ExpenseQueryFilter(departmentId, userId, category, status,
+                from, to, minAmount, maxAmount);
+        Supplier<String> version = departmentId != null
+                ? () -> "d" + changeWatermark.department(departmentId) : () -> "e" + changeWatermark.any();
+        return conditionalGet.respond(request, version, () -> expenseService.queryExpenses(filter, cursor, size));
+    }
+
+    // Ranked search over title and description, e.g. ?q=taxi airp*&status=PENDING; every word must match
+    @GetMapping("/search")
+    public ExpenseSearchResultDTO searchExpenses(@RequestParam String q,
+                                                 @RequestParam(required = false) Long departmentId,
+                                                 @RequestParam(required = false) ExpenseCategory category,
+                                                 @RequestParam(required = false) ExpenseStatus status,
+                                                 @RequestParam(required = false) Integer limit) {
+        return searchService.search(q, departmentId, category, status, limit);
+    }
+
+    // Streams every matching expense as CSV or NDJSON; memory use does not grow with the export size
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) ExpenseCategory category,
+            @RequestParam(required = false) ExpenseStatus status) {
+
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        ExpenseExportFilter filter = new ExpenseExportFilter(from, to, departmentId, category, status);
+        StreamingResponseBody body = out -> exportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"expenses." + exportFormat.getFileExtension() + "\"")
+                .body(body);
     }
 
     // --- Approval Workflow ---
@@ -91,22 +208,21 @@ public class ExpenseController {
     // Role checks (e.g., using Spring Security annotations like @PreAuthorize)
     // would be added here to ensure only Admin/Manager can approve.
     public ResponseEntity<Expense> approveExpense(@PathVariable Long id) {
-        try {
-            Expense approvedExpense = expenseService.approveExpense(id);
-            return ResponseEntity.ok(approvedExpense);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
-        }
+        Expense approvedExpense = expenseService.approveExpense(id);
+        return ResponseEntity.ok(approvedExpense);
+    }
+
+    // Approves or denies up to expense.bulk.max-items expenses in one transaction; outcomes are reported per id
+    @PostMapping("/review")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public BulkReviewResultDTO reviewExpenses(@RequestBody ExpenseReviewRequestDTO request) {
+        return expenseService.reviewExpenses(request.getExpenseIds(), request.getDecision());
     }
 
     @PatchMapping("/{id}/deny/{reviewerId}")
     public ResponseEntity<Expense> denyExpense(@PathVariable Long id, @PathVariable Long reviewerId) {
-        try {
-            Expense deniedExpense = expenseService.denyExpense(id, reviewerId);
-            return ResponseEntity.ok(deniedExpense);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
-        }
+        Expense deniedExpense = expenseService.denyExpense(id, reviewerId);
+        return ResponseEntity.ok(deniedExpense);
     }
 
     // --- Financial Insights ---
@@ -117,4 +233,74 @@ public class ExpenseController {
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.noContent().build()); // Return 204 if no expenses this month
     }
+
+    // Per department/category/status totals for one month (defaults to the current month), e.g. ?month=2025-10
+    @GetMapping("/insight/monthly")
+    public List<ExpenseRollupDTO> getMonthlyRollups(@RequestParam(required = false) YearMonth month) {
+        return rollupService.findMonthlyRollups(month != null ? month : YearMonth.now());
+    }
+
+    // Totals over any filter grouped by any dimensions, e.g. ?groupBy=DEPARTMENT,MONTH&status=APPROVED&from=2025-01-01
+    @GetMapping("/insight/analytics")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ExpenseAnalyticsDTO getAnalytics(
+            @RequestParam(required = false) List<ExpenseAnalyticsStore.Dimension> groupBy,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) ExpenseCategory category,
+            @RequestParam(required = false) ExpenseStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount) {
+        ExpenseQueryFilter filter = new ExpenseQueryFilter(departmentId, userId, category, status,
+                from, to, minAmount, maxAmount);
+        return analyticsService.aggregate(filter, groupBy);
+    }
+
+    // Exact amount percentiles over the same filters, e.g. ?p=50,99.9&category=TRAVEL
+    @GetMapping("/insight/analytics/percentiles")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ExpensePercentilesDTO getAmountPercentiles(
+            @RequestParam(name = "p", required = false) List<Double> percentiles,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) ExpenseCategory category,
+            @RequestParam(required = false) ExpenseStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount) {
+        ExpenseQueryFilter filter = new ExpenseQueryFilter(departmentId, userId, category, status,
+                from, to, minAmount, maxAmount);
+        return analyticsService.percentiles(filter, percentiles);
+    }
+
+    // --- Rollup Maintenance (Admin only) ---
+
+    @PostMapping("/insight/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Integer> rebuildRollups() {
+        return Map.of("buckets", rollupService.rebuild());
+    }
+
+    @GetMapping("/insight/rollups/check")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<RollupMismatchDTO> checkRollups() {
+        return rollupService.checkConsistency();
+    }
+
+    // --- Search Maintenance (Admin only) ---
+
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Integer> rebuildSearchIndex() {
+        return Map.of("indexed", searchService.rebuildIndex());
+    }
+
+    @PostMapping("/insight/analytics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Integer> rebuildAnalyticsStore() {
+        return Map.of("loaded", analyticsService.rebuildStore());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.fintech.enterprise.controller;
+
+import com.fintech.enterprise.service.ExpenseEventService;
+import com.fintech.enterprise.service.dto.ExpenseEventPageDTO;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/events")
+public class ExpenseEventController {
+
+    private final ExpenseEventService eventService;
+
+    public ExpenseEventController(ExpenseEventService eventService) {
+        this.eventService = eventService;
+    }
+
+    // Expense changes in publish order, e.g. ?after=1200&size=500; pass the returned lastPosition as the next 'after'
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ExpenseEventPageDTO getEvents(@RequestParam(defaultValue = "0") long after,
+                                         @RequestParam(required = false) Long departmentId,
+                                         @RequestParam(required = false) Integer size) {
+        return eventService.findEvents(after, departmentId, size);
+    }
+}
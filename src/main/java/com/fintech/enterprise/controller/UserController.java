@@ -60,7 +60,7 @@ public class UserController {
 
     @GetMapping("/{id}")
     // Allows ADMIN to view any user, or the authenticated user to view their own profile.
-    @PreAuthorize("hasRole('ADMIN') or #id == principal.user.id")
+    @PreAuthorize("hasRole('ADMIN') or #id == principal.id")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         return userService.findUserById(id)
                 .map(ResponseEntity::ok)
@@ -0,0 +1,9 @@
+package com.fintech.enterprise.exception;
+
+// Thrown when a write still conflicts with concurrent writers after all retries are spent.
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.fintech.enterprise.exception;
+
+// Thrown when the dashboard queries do not all finish within the per-request deadline.
+public class DashboardTimeoutException extends RuntimeException {
+
+    public DashboardTimeoutException(String message) {
+        super(message);
+    }
+}
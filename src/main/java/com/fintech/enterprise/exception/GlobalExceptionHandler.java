@@ -1,5 +1,7 @@
 package com.fintech.enterprise.exception;
 
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +23,35 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage()));
     }
 
+    // Dashboard queries overran their deadline (503)
+    @ExceptionHandler(DashboardTimeoutException.class)
+    public ResponseEntity<Map<String, String>> handleDashboardTimeout(DashboardTimeoutException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // Lost a concurrent-update race even after retrying (409)
+    @ExceptionHandler({ConcurrentUpdateException.class, ConcurrencyFailureException.class})
+    public ResponseEntity<Map<String, String>> handleConcurrentUpdate(RuntimeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex instanceof ConcurrentUpdateException ? ex.getMessage()
+                        : "The record was changed concurrently; please reload and try again."));
+    }
+
+    // Login admission control: per-client rate limit or a full password-hashing queue (429)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     // Handle forbidden access (403)
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<Map<String, String>> handleAccessDenied(AccessDeniedException ex) {
@@ -0,0 +1,25 @@
+package com.fintech.enterprise.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change counter per scope ("department:{id}", or "departments" for changes that may touch any
+ * department), bumped in the writer's transaction. Maintained by ExpenseChangeWatermark.
+ */
+@Entity
+@Table(name = "change_watermark")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeWatermark {
+
+    @Id
+    @Column(length = 40)
+    private String scope;
+
+    @Column(nullable = false)
+    private long changeCount;
+}
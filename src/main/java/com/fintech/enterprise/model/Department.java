@@ -2,9 +2,10 @@ package com.fintech.enterprise.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
-import java.math.BigDecimal;
 import java.util.List;
 @Entity
 @Data
@@ -19,17 +20,26 @@ public class Department {
     private String name;
 
     @Column(nullable = false)
-    private BigDecimal yearlyBudget; // Total budget allocated
+    private Money yearlyBudget; // Total budget allocated
 
     @Column(nullable = false)
-    private BigDecimal spentAmount = BigDecimal.ZERO; // Total amount spent so far
-
-    @OneToMany(mappedBy = "department", fetch = FetchType.EAGER)
+    private Money spentAmount = Money.ZERO; // Total amount spent so far
+
+    // Optimistic lock; the budget-guarded spend UPDATE bumps it too, so an entity save
+    // (e.g. a budget edit) cannot write back a stale spentAmount.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    // Lazy: only the department list/detail endpoints render members, and they fetch them explicitly
+    @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<User> members;
 
     // --- Explicit Constructors ---
 
-    public Department(Long id, String name, BigDecimal yearlyBudget, BigDecimal spentAmount) {
+    public Department(Long id, String name, Money yearlyBudget, Money spentAmount) {
         this.id = id;
         this.name = name;
         this.yearlyBudget = yearlyBudget;
@@ -1,23 +1,34 @@
 package com.fintech.enterprise.model;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference; // NEW IMPORT
+import com.fintech.enterprise.config.ExpenseSequenceAligner;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "expense")
+@Table(name = "expense", indexes = {
+        // Serves the keyset-paginated listing order (dateSubmitted DESC, id DESC)
+        @Index(name = "idx_expense_date_submitted_id", columnList = "date_submitted DESC, id DESC"),
+        // Equality filters first, then the listing order, so a filtered page is an index range scan
+        // with no sort: department (+ status) queues, "my expenses", and per-category lists.
+        @Index(name = "idx_expense_department_status_date",
+                columnList = "department_id, status, date_submitted DESC, id DESC"),
+        @Index(name = "idx_expense_user_date", columnList = "user_id, date_submitted DESC, id DESC"),
+        @Index(name = "idx_expense_category_date", columnList = "category, date_submitted DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Expense {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts; see ExpenseSequenceAligner
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_seq", allocationSize = ExpenseSequenceAligner.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -27,7 +38,7 @@ public class Expense {
     private String description;
 
     @Column(nullable = false)
-    private BigDecimal amount;
+    private Money amount;
 
     @Column( nullable = false)
     private LocalDate dateSubmitted = LocalDate.now();
@@ -60,6 +71,12 @@ public class Expense {
 
     private LocalDate dateReviewed;
 
+    // Optimistic lock: a concurrent review or edit of the same expense fails at flush instead of
+    // silently overwriting it. The default lets ddl-auto add the column to existing rows.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         if (dateSubmitted == null) {
@@ -0,0 +1,80 @@
+package com.fintech.enterprise.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox row for one change to an expense, written in the transaction that made the change, so an
+ * event exists exactly when the change committed. ExpenseEventRelay publishes pending rows in id order
+ * and gives each a feed position, except that the events of one expense go out in expenseVersion order:
+ * every instance draws its own block of ids, so id order need not be the order the changes committed.
+ * The row carries the expense's state after the change (before it, for DELETED).
+ */
+@Entity
+@Table(name = "expense_event", indexes = {
+        // Serves the feed (position order) and the relay (position IS NULL); unique, so two relays racing
+        // on the same rows cannot both commit
+        @Index(name = "idx_expense_event_position", columnList = "position", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class ExpenseEvent {
+
+    // Pooled sequence so a bulk submit or review inserts its events as JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_event_seq")
+    @SequenceGenerator(name = "expense_event_seq", sequenceName = "expense_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExpenseEventType type;
+
+    @Column(nullable = false)
+    private Long expenseId;
+
+    @Column(nullable = false)
+    private Long departmentId;
+
+    @Column(nullable = false)
+    private Long submittedById;
+
+    private Long reviewerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExpenseCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExpenseStatus status;
+
+    @Column(nullable = false)
+    private Money amount;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    private Long position; // null until published; then strictly increasing in publish order
+
+    // The expense's @Version after the change (one past its last, for DELETED); null on rows written before it was kept
+    private Long expenseVersion;
+
+    public static ExpenseEvent of(ExpenseEventType type, Expense expense, Instant occurredAt) {
+        ExpenseEvent event = new ExpenseEvent();
+        event.setType(type);
+        event.setExpenseId(expense.getId());
+        event.setDepartmentId(expense.getDepartment().getId());
+        event.setSubmittedById(expense.getSubmittedBy().getId());
+        event.setReviewerId(expense.getReviewedBy() == null ? null : expense.getReviewedBy().getId());
+        event.setCategory(expense.getCategory());
+        event.setStatus(expense.getStatus());
+        event.setAmount(expense.getAmount());
+        event.setOccurredAt(occurredAt);
+        event.setExpenseVersion(type == ExpenseEventType.DELETED ? expense.getVersion() + 1 : expense.getVersion());
+        return event;
+    }
+}
@@ -0,0 +1,9 @@
+package com.fintech.enterprise.model;
+
+public enum ExpenseEventType {
+    SUBMITTED,
+    UPDATED,
+    APPROVED,
+    DENIED,
+    DELETED
+}
@@ -0,0 +1,31 @@
+package com.fintech.enterprise.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated expense figures per (department, category, status, month). Maintained
+ * incrementally by the expense write paths so insight queries never scan the expense table.
+ */
+@Entity
+@Table(name = "expense_monthly_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRollup {
+
+    @EmbeddedId
+    private ExpenseRollupKey id;
+
+    @Column(nullable = false)
+    private long expenseCount;
+
+    @Column(nullable = false)
+    private Money totalAmount = Money.ZERO;
+
+    private Money maxAmount; // null when the bucket is empty
+
+    private Long topExpenseId; // expense holding maxAmount (lowest id on ties)
+}
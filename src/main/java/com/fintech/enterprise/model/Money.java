@@ -0,0 +1,109 @@
+package com.fintech.enterprise.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of the application's single currency as a count of minor units (cents), so arithmetic is plain
+ * long math and allocates nothing but the result. Every amount column is numeric with scale {@link #SCALE};
+ * {@link MoneyConverter} maps them, {@code MoneyModule} writes them to JSON as plain numbers ("85.50").
+ * <p>
+ * Overflow (beyond roughly 92 quadrillion) throws ArithmeticException rather than wrapping.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    // Extra decimals are rounded HALF_UP, as the numeric(…, 2) columns round them on insert
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    // This amount split into count equal parts, rounded HALF_UP to the minor unit
+    public Money dividedBy(long count) {
+        return ofMinor(divideHalfUp(minorUnits, count));
+    }
+
+    /**
+     * This amount as a percentage of {@code whole} (which must be positive): the ratio rounded HALF_UP to
+     * 4 decimals, then scaled to percent, e.g. 25.0000 or 33.3300. Identical, scale included, to
+     * {@code toBigDecimal().divide(whole.toBigDecimal(), 4, HALF_UP).multiply(BigDecimal.valueOf(100))}.
+     */
+    public BigDecimal percentOf(Money whole) {
+        if (whole.minorUnits <= 0) {
+            throw new ArithmeticException("Percentage of a non-positive amount");
+        }
+        try {
+            return BigDecimal.valueOf(Math.multiplyExact(
+                    divideHalfUp(Math.multiplyExact(minorUnits, 10_000L), whole.minorUnits), 100L), 4);
+        } catch (ArithmeticException e) { // amounts or ratios too large for a long: rare, exact the slow way
+            return toBigDecimal().divide(whole.toBigDecimal(), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+        }
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return minorUnits > other.minorUnits;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public double toDouble() {
+        return minorUnits / (double) MINOR_PER_MAJOR;
+    }
+
+    // Plain decimal with exactly two fraction digits, e.g. "-0.05"; what the JSON and CSV output show
+    @Override
+    public String toString() {
+        if (minorUnits == Long.MIN_VALUE) { // has no positive counterpart
+            return toBigDecimal().toPlainString();
+        }
+        long abs = Math.abs(minorUnits);
+        long fraction = abs % MINOR_PER_MAJOR;
+        StringBuilder text = new StringBuilder(24);
+        if (minorUnits < 0) {
+            text.append('-');
+        }
+        return text.append(abs / MINOR_PER_MAJOR).append('.').append(fraction < 10 ? "0" : "").append(fraction)
+                .toString();
+    }
+
+    // Rounds ties away from zero, like RoundingMode.HALF_UP
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder != 0 && Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
@@ -33,9 +33,11 @@ public class User {
     @OneToMany(mappedBy = "submittedBy", fetch = FetchType.LAZY)
     private List<Expense> expenses;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id", nullable = true)
     @JsonBackReference
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Department department;
 
 
@@ -0,0 +1,33 @@
+package com.fintech.enterprise.repository;
+
+import com.fintech.enterprise.model.ChangeWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface ChangeWatermarkRepository extends JpaRepository<ChangeWatermark, String> {
+
+    // Native so concurrent writers never read-modify-write a counter; returns 0 when the scope has no row yet
+    @Modifying
+    @Query(value = "UPDATE change_watermark SET change_count = change_count + 1 WHERE scope = :scope",
+            nativeQuery = true)
+    int bump(@Param("scope") String scope);
+
+    @Modifying
+    @Query(value = "INSERT INTO change_watermark (scope, change_count) VALUES (:scope, 0) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    void ensureScope(@Param("scope") String scope);
+
+    // Counters only grow, so the sum moves whenever one of them does
+    @Query(value = "SELECT COALESCE(SUM(change_count), 0) FROM change_watermark", nativeQuery = true)
+    long sumOfAll();
+
+    @Query(value = "SELECT COALESCE(SUM(change_count), 0) FROM change_watermark WHERE scope IN (:scopes)",
+            nativeQuery = true)
+    long sumOf(@Param("scopes") Collection<String> scopes);
+}
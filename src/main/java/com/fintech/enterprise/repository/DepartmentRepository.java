@@ -1,10 +1,55 @@
 package com.fintech.enterprise.repository;
 
 import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Money;
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-}
 
+    // Members are lazy; these load them in the same statement for the endpoints that render them.
+    @EntityGraph(attributePaths = "members")
+    @Query("SELECT d FROM Department d ORDER BY d.id")
+    List<Department> findAllWithMembers();
+
+    @EntityGraph(attributePaths = "members")
+    Optional<Department> findWithMembersById(Long id);
+
+    // Budget columns only, for the overview report.
+    @Query("SELECT d.name AS name, d.yearlyBudget AS yearlyBudget, d.spentAmount AS spentAmount " +
+            "FROM Department d ORDER BY d.id")
+    List<BudgetLine> findBudgetLines();
+
+    // Atomic, budget-guarded increment: returns 0 when the department is missing or the amount
+    // would push spentAmount past yearlyBudget. Concurrent callers serialize on the row lock
+    // instead of overwriting each other's read-modify-write.
+    @Modifying
+    @Query("UPDATE Department d SET d.spentAmount = d.spentAmount + :amount, d.version = d.version + 1 " +
+            "WHERE d.id = :id AND d.spentAmount + :amount <= d.yearlyBudget")
+    int addSpentAmount(@Param("id") Long id, @Param("amount") Money amount);
+
+    // Row-locks departments in ascending id order; bulk review charges them in memory and flushes once.
+    // Single approvals (addSpentAmount) queue behind the lock and re-check the budget afterwards.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Department d WHERE d.id IN :ids ORDER BY d.id")
+    List<Department> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    interface BudgetLine {
+        String getName();
+
+        Money getYearlyBudget();
+
+        Money getSpentAmount();
+    }
+}
@@ -0,0 +1,41 @@
+package com.fintech.enterprise.repository;
+
+import com.fintech.enterprise.model.ExpenseEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExpenseEventRepository extends JpaRepository<ExpenseEvent, Long> {
+
+    // --- Relay ---
+
+    @Query("SELECT e FROM ExpenseEvent e WHERE e.position IS NULL ORDER BY e.id")
+    List<ExpenseEvent> findPending(Limit limit);
+
+    // Pending events of the given expenses that did not fit in a batch ending at afterId
+    @Query("SELECT e FROM ExpenseEvent e WHERE e.position IS NULL AND e.id > :afterId AND e.expenseId IN :expenseIds ORDER BY e.id")
+    List<ExpenseEvent> findPendingAfter(@Param("afterId") long afterId, @Param("expenseIds") Collection<Long> expenseIds);
+
+    @Query("SELECT COALESCE(MAX(e.position), 0) FROM ExpenseEvent e")
+    long findLastPosition();
+
+    // Published events only; pending ones have no position yet and are never deleted here
+    @Modifying
+    @Query("DELETE FROM ExpenseEvent e WHERE e.position IS NOT NULL AND e.occurredAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+
+    // --- Feed ---
+
+    List<ExpenseEvent> findByPositionGreaterThanOrderByPosition(long position, Limit limit);
+
+    List<ExpenseEvent> findByPositionGreaterThanAndDepartmentIdOrderByPosition(long position, Long departmentId,
+                                                                               Limit limit);
+}
@@ -2,23 +2,40 @@ package com.fintech.enterprise.repository;
 
 import com.fintech.enterprise.model.Expense;
 import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
-
-
-    List<Expense> findBySubmittedById(Long userId);
-
-    List<Expense> findByDepartmentId(Long departmentId);
-
-    List<Expense> findByCategory(ExpenseCategory category);
-
-    @Query(value = "SELECT e FROM Expense e WHERE MONTH(e.dateSubmitted) = MONTH(CURRENT_DATE()) AND YEAR(e.dateSubmitted) = YEAR(CURRENT_DATE()) ORDER BY e.amount DESC LIMIT 1")
-    Optional<Expense> findBiggestExpenseThisMonth();
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {
+
+    // Largest expense of one rollup bucket (ties: lowest id). Uses a date range rather than
+    // MONTH()/YEAR() so the predicate stays sargable.
+    @Query("SELECT e FROM Expense e WHERE e.department.id = :departmentId AND e.category = :category " +
+            "AND e.status = :status AND e.dateSubmitted >= :from AND e.dateSubmitted < :to " +
+            "ORDER BY e.amount DESC, e.id ASC LIMIT 1")
+    Optional<Expense> findTopExpenseInBucket(@Param("departmentId") Long departmentId,
+                                             @Param("category") ExpenseCategory category,
+                                             @Param("status") ExpenseStatus status,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    // --- Bulk review ---
+
+    // Departments touched by a batch, read without loading the expenses themselves.
+    @Query("SELECT DISTINCT e.department.id FROM Expense e WHERE e.id IN :ids")
+    List<Long> findDepartmentIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Row-locks the batch (ascending id) so no concurrent reviewer can change it before commit.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Expense e WHERE e.id IN :ids ORDER BY e.id")
+    List<Expense> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
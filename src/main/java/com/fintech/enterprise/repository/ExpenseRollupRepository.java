@@ -0,0 +1,98 @@
+package com.fintech.enterprise.repository;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseRollup;
+import com.fintech.enterprise.model.ExpenseRollupKey;
+import com.fintech.enterprise.model.ExpenseStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExpenseRollupRepository extends JpaRepository<ExpenseRollup, ExpenseRollupKey> {
+
+    List<ExpenseRollup> findByIdPeriod(Integer period);
+
+    // --- Incremental maintenance (native so concurrent writers never read-modify-write a bucket) ---
+
+    @Modifying
+    @Query(value = "INSERT INTO expense_monthly_rollup (department_id, category, status, period, expense_count, total_amount) " +
+            "VALUES (:departmentId, :category, :status, :period, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    void ensureBucket(@Param("departmentId") Long departmentId, @Param("category") String category,
+                      @Param("status") String status, @Param("period") Integer period);
+
+    // Adds count/amount and offers a max candidate; ties keep the lowest expense id.
+    @Modifying
+    @Query(value = "UPDATE expense_monthly_rollup SET " +
+            "expense_count = expense_count + :count, " +
+            "total_amount = total_amount + :amount, " +
+            "top_expense_id = CASE WHEN max_amount IS NULL OR :maxAmount > max_amount " +
+            "  OR (:maxAmount = max_amount AND :topExpenseId < top_expense_id) THEN :topExpenseId ELSE top_expense_id END, " +
+            "max_amount = CASE WHEN max_amount IS NULL OR :maxAmount > max_amount THEN :maxAmount ELSE max_amount END " +
+            "WHERE department_id = :departmentId AND category = :category AND status = :status AND period = :period",
+            nativeQuery = true)
+    void addToBucket(@Param("departmentId") Long departmentId, @Param("category") String category,
+                     @Param("status") String status, @Param("period") Integer period,
+                     @Param("count") long count, @Param("amount") BigDecimal amount,
+                     @Param("maxAmount") BigDecimal maxAmount, @Param("topExpenseId") Long topExpenseId);
+
+    @Modifying
+    @Query(value = "UPDATE expense_monthly_rollup SET " +
+            "expense_count = expense_count - :count, total_amount = total_amount - :amount " +
+            "WHERE department_id = :departmentId AND category = :category AND status = :status AND period = :period",
+            nativeQuery = true)
+    void subtractFromBucket(@Param("departmentId") Long departmentId, @Param("category") String category,
+                            @Param("status") String status, @Param("period") Integer period,
+                            @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    // Clears max/top when one of the given expenses held them; returns 1 if so, so the caller can recompute.
+    @Modifying
+    @Query(value = "UPDATE expense_monthly_rollup SET max_amount = NULL, top_expense_id = NULL " +
+            "WHERE department_id = :departmentId AND category = :category AND status = :status AND period = :period " +
+            "AND top_expense_id IN (:expenseIds)", nativeQuery = true)
+    int clearTopIfHeldByAny(@Param("departmentId") Long departmentId, @Param("category") String category,
+                            @Param("status") String status, @Param("period") Integer period,
+                            @Param("expenseIds") Collection<Long> expenseIds);
+
+    // --- Recomputation from raw expenses (rebuild and consistency check) ---
+
+    // One row per bucket; its top expense is the rank-1 row by amount DESC, id ASC, the same tie-break as
+    // addToBucket. Column aliases double as the MonthlyExpenseAggregate property names.
+    String AGGREGATE_FROM_EXPENSES = "SELECT department_id AS departmentId, category, status, period, " +
+            "COUNT(*) AS expenseCount, SUM(amount) AS totalAmount, MAX(amount) AS maxAmount, " +
+            "MIN(CASE WHEN rank_in_bucket = 1 THEN id END) AS topExpenseId " +
+            "FROM (SELECT e.id, e.department_id, e.category, e.status, e.amount, " +
+            "  CAST(EXTRACT(YEAR FROM e.date_submitted) * 100 + EXTRACT(MONTH FROM e.date_submitted) AS INTEGER) AS period, " +
+            "  ROW_NUMBER() OVER (PARTITION BY e.department_id, e.category, e.status, " +
+            "    EXTRACT(YEAR FROM e.date_submitted), EXTRACT(MONTH FROM e.date_submitted) " +
+            "    ORDER BY e.amount DESC, e.id) AS rank_in_bucket " +
+            "  FROM expense e) ranked " +
+            "GROUP BY department_id, category, status, period";
+
+    @Query(value = AGGREGATE_FROM_EXPENSES, nativeQuery = true)
+    List<MonthlyExpenseAggregate> aggregateExpensesByMonth();
+
+    // Refills the (emptied) table in one statement. Returns the number of buckets written.
+    @Modifying
+    @Query(value = "INSERT INTO expense_monthly_rollup (department_id, category, status, period, " +
+            "expense_count, total_amount, max_amount, top_expense_id) " + AGGREGATE_FROM_EXPENSES, nativeQuery = true)
+    int insertAggregatedFromExpenses();
+
+    // Native query results bypass the Money converter, so amounts come back as BigDecimal
+    interface MonthlyExpenseAggregate {
+        Long getDepartmentId();
+        ExpenseCategory getCategory();
+        ExpenseStatus getStatus();
+        Integer getPeriod();
+        Long getExpenseCount();
+        BigDecimal getTotalAmount();
+        BigDecimal getMaxAmount();
+        Long getTopExpenseId();
+    }
+}
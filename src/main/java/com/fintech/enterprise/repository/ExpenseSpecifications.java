@@ -0,0 +1,61 @@
+package com.fintech.enterprise.repository;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Reusable query fragments for {@link Expense} lookups.
+ */
+public final class ExpenseSpecifications {
+
+    private ExpenseSpecifications() {
+    }
+
+    public static Specification<Expense> submittedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("submittedBy").get("id"), userId);
+    }
+
+    public static Specification<Expense> inDepartment(Long departmentId) {
+        return (root, query, cb) -> cb.equal(root.get("department").get("id"), departmentId);
+    }
+
+    public static Specification<Expense> inCategory(ExpenseCategory category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Expense> withStatus(ExpenseStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Expense> submittedOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateSubmitted"), from);
+    }
+
+    public static Specification<Expense> submittedOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dateSubmitted"), to);
+    }
+
+    public static Specification<Expense> amountAtLeast(Money min) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Money>get("amount"), min);
+    }
+
+    public static Specification<Expense> amountAtMost(Money max) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<Money>get("amount"), max);
+    }
+
+    // Keyset predicate for (dateSubmitted DESC, id DESC): rows strictly after the given position.
+    public static Specification<Expense> after(LocalDate dateSubmitted, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("dateSubmitted"), dateSubmitted),
+                cb.and(
+                        cb.equal(root.get("dateSubmitted"), dateSubmitted),
+                        cb.lessThan(root.get("id"), id)
+                )
+        );
+    }
+}
@@ -3,6 +3,9 @@ package com.fintech.enterprise.repository;
 import com.fintech.enterprise.model.User;
 import com.fintech.enterprise.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     List<User> findByRole(Role role);
+
+    // One UPDATE instead of loading and dirtying every member.
+    @Modifying
+    @Query("UPDATE User u SET u.department = NULL WHERE u.department.id = :departmentId")
+    int unlinkDepartment(@Param("departmentId") Long departmentId);
 }
@@ -0,0 +1,73 @@
+package com.fintech.enterprise.security;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Principal of a token-authenticated request, built purely from the verified access-token claims.
+ * Claims are a snapshot taken at issue time: role or department changes apply from the next refresh.
+ * Exposed to SpEL as {@code principal.id}, {@code principal.username}, {@code principal.departmentId}.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final List<Role> roles;
+    private final Long departmentId;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, List<Role> roles, Long departmentId) {
+        this.id = id;
+        this.username = username;
+        this.roles = List.copyOf(roles);
+        this.departmentId = departmentId;
+        this.authorities = this.roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                .toList();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    public List<Role> getRoles() {
+        return roles;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // Token-authenticated principals carry no credentials
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    // Detached stand-in for the user row: enough to reference it (ids) and render it (username, role)
+    public User toUser() {
+        User user = new User(id, username, null, roles.isEmpty() ? null : roles.get(0));
+        if (departmentId != null) {
+            Department department = new Department();
+            department.setId(departmentId);
+            user.setDepartment(department);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,96 @@
+package com.fintech.enterprise.security;
+
+import com.fintech.enterprise.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the delegate's hashing (BCrypt: tens of milliseconds of pure CPU per call) on a fixed pool of
+ * platform threads behind a bounded queue, so a login burst can occupy at most {@code threads} cores
+ * and the rest of the API keeps its latency. Callers park until their hash is done; once the queue is
+ * full new hashes are refused with {@link TooManyRequestsException} instead of piling up.
+ * <p>
+ * Metrics: fintrack.auth.hash (hashing time, op=encode|matches), fintrack.auth.hash.queue (waiting
+ * hashes) and fintrack.auth.rejected{reason=hash_queue_full}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), hashingThreads(), new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = meterRegistry.timer("fintrack.auth.hash", "op", "encode");
+        this.matchesTimer = meterRegistry.timer("fintrack.auth.hash", "op", "matches");
+        this.rejected = meterRegistry.counter("fintrack.auth.rejected", "reason", "hash_queue_full");
+        Gauge.builder("fintrack.auth.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Inferred as the bean's destroy method
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Timer timer, Supplier<T> hash) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(hash));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Authentication is busy; please retry shortly.", 1);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ThreadFactory hashingThreads() {
+        return Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory();
+    }
+}
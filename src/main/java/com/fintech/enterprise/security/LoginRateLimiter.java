@@ -0,0 +1,87 @@
+package com.fintech.enterprise.security;
+
+import com.fintech.enterprise.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets for POST /api/auth/login: each client may burst {@code burst} attempts and
+ * then gets {@code perMinute} more per minute. Checked before the user lookup and the password hash, so
+ * a credential-stuffing client is refused (429) without costing a database query or any CPU.
+ * Buckets of idle clients are dropped once they would be full again.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final int burst;
+    private final double tokensPerNano;
+    private final LongSupplier nanoTime;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter rejected;
+
+    @Autowired
+    public LoginRateLimiter(@Value("${auth.login.rate-limit.burst:10}") int burst,
+                            @Value("${auth.login.rate-limit.per-minute:30}") int perMinute,
+                            @Value("${auth.login.rate-limit.max-clients:100000}") long maxClients,
+                            MeterRegistry meterRegistry) {
+        this(burst, perMinute, maxClients, meterRegistry, System::nanoTime);
+    }
+
+    LoginRateLimiter(int burst, int perMinute, long maxClients, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        if (burst < 1 || perMinute < 1) {
+            throw new IllegalArgumentException("Login rate limit burst and per-minute must be positive");
+        }
+        this.burst = burst;
+        this.tokensPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(burst / tokensPerNano)))
+                .build();
+        this.rejected = meterRegistry.counter("fintrack.auth.rejected", "reason", "rate_limited");
+    }
+
+    // Takes one token for the client or throws TooManyRequestsException with the time until the next one
+    public void acquire(String clientKey) {
+        long waitNanos = buckets.get(clientKey, key -> new TokenBucket()).take();
+        if (waitNanos > 0) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many login attempts; please retry later.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    private final class TokenBucket {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private double tokens = burst;
+        private long refilledAt = nanoTime.getAsLong();
+
+        // 0 when a token was taken, otherwise the nanoseconds until one is available
+        long take() {
+            lock.lock();
+            try {
+                long now = nanoTime.getAsLong();
+                tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+                refilledAt = now;
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return 0;
+                }
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
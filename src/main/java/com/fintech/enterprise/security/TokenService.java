@@ -0,0 +1,142 @@
+package com.fintech.enterprise.security;
+
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Issues and verifies every token the API hands out.
+ * <ul>
+ *   <li>Access tokens (short-lived) carry the user id, roles and department id, so a request is
+ *   authenticated from the verified claims alone, with no database lookup.</li>
+ *   <li>Refresh tokens (long-lived) carry only the user id and a fingerprint of the password hash.
+ *   Renewal reloads the user, so role/department changes apply and a password change revokes them.</li>
+ * </ul>
+ * The token type is part of the signed claims: a refresh token is never accepted as an access token.
+ */
+@Component
+public class TokenService {
+
+    private static final String TYPE = "typ";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+    private static final String USER_ID = "uid";
+    private static final String ROLES = "roles";
+    private static final String DEPARTMENT_ID = "dept";
+    private static final String CREDENTIALS = "cred";
+
+    private final Key key;
+    private final JwtParser parser; // immutable and thread-safe, so built once
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public TokenService(@Value("${jwt.secret}") String secret,
+                        @Value("${jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+                        @Value("${jwt.refresh-token-ttl:7d}") Duration refreshTokenTtl) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    public String issueAccessToken(User user) {
+        return sign(user, ACCESS, accessTokenTtl)
+                .claim(ROLES, List.of(user.getRole().name()))
+                .claim(DEPARTMENT_ID, user.getDepartment() != null ? user.getDepartment().getId() : null)
+                .compact();
+    }
+
+    public String issueRefreshToken(User user) {
+        return sign(user, REFRESH, refreshTokenTtl)
+                .claim(CREDENTIALS, fingerprint(user.getPassword()))
+                .compact();
+    }
+
+    // Verifies signature, expiry and type; throws JwtException otherwise
+    public AuthenticatedUser parseAccessToken(String token) {
+        Claims claims = parse(token, ACCESS);
+        List<?> roles = claims.get(ROLES, List.class);
+        if (roles == null) {
+            throw new JwtException("Access token carries no roles");
+        }
+        Number departmentId = claims.get(DEPARTMENT_ID, Number.class);
+        return new AuthenticatedUser(
+                claims.get(USER_ID, Number.class).longValue(),
+                claims.getSubject(),
+                roles.stream().map(role -> roleOf(role.toString())).toList(),
+                departmentId != null ? departmentId.longValue() : null);
+    }
+
+    // A role this build does not know (renamed, or from a newer release) makes the token invalid, not a 500
+    private static Role roleOf(String name) {
+        try {
+            return Role.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Unknown role in access token: " + name, e);
+        }
+    }
+
+    // Returns the user id of a valid refresh token; throws JwtException otherwise
+    public Long parseRefreshToken(String token) {
+        return parse(token, REFRESH).get(USER_ID, Number.class).longValue();
+    }
+
+    // Whether a refresh token still belongs to this user (same username and password as when it was issued)
+    public boolean isCurrentFor(String refreshToken, User user) {
+        Claims claims = parse(refreshToken, REFRESH);
+        return user.getUsername().equals(claims.getSubject())
+                && fingerprint(user.getPassword()).equals(claims.get(CREDENTIALS, String.class));
+    }
+
+    private JwtBuilder sign(User user, String type, Duration ttl) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(TYPE, type)
+                .claim(USER_ID, user.getId())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttl.toMillis()))
+                .signWith(key, SignatureAlgorithm.HS256);
+    }
+
+    private Claims parse(String token, String expectedType) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (!expectedType.equals(claims.get(TYPE, String.class)) || claims.get(USER_ID) == null) {
+            throw new JwtException("Expected a valid " + expectedType + " token");
+        }
+        return claims;
+    }
+
+    // Short digest of the stored password hash; the hash itself never leaves the server
+    private static String fingerprint(String passwordHash) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(passwordHash.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
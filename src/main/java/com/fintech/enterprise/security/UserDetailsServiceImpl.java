@@ -1,5 +1,6 @@
 package com.fintech.enterprise.security;
 
+import com.fintech.enterprise.config.ReadRouting;
 import com.fintech.enterprise.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,9 +14,10 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    // Credentials come from the primary, so a changed password or role applies at once
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        return ReadRouting.onPrimary(() -> userRepository.findByUsername(username))
                 .map(user -> org.springframework.security.core.userdetails.User.builder()
                         .username(user.getUsername())
                         .password(user.getPassword())
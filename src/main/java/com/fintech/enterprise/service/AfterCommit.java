@@ -0,0 +1,52 @@
+package com.fintech.enterprise.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects on in-memory state (caches, counters, indexes) until the surrounding transaction
+ * commits, so a concurrent reader cannot pick up, or re-cache, what a rollback would undo. Outside a
+ * transaction the action runs right away.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    // Never runs for a rolled-back transaction
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Then runs cleanup once the transaction has ended, committed or not (right after the action outside one)
+    static void run(Runnable action, Runnable cleanup) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                action.run();
+            } finally {
+                cleanup.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                cleanup.run();
+            }
+        });
+    }
+}
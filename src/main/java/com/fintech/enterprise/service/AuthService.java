@@ -1,37 +1,29 @@
 package com.fintech.enterprise.service;
 
+import com.fintech.enterprise.config.MetricsConfig;
+import com.fintech.enterprise.config.ReadRouting;
 import com.fintech.enterprise.model.User;
 import com.fintech.enterprise.model.Role;
 import com.fintech.enterprise.repository.UserRepository;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import com.fintech.enterprise.security.TokenService;
+import com.fintech.enterprise.service.dto.AuthTokensDTO;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
-import java.util.Date;
-
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    // Secret key for JWT signing (use at least 256-bit)
-    private final String JWT_SECRET = "my_secret1112my_secret1112my_secret1112"; // 32+ chars
-    private final long JWT_EXPIRATION = 86400000; // 1 day
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8));
-    }
+    private final TokenService tokenService;
 
     // Register a new user
     public User register(String username, String password, Role role) {
-        if (userRepository.findByUsername(username).isPresent()) {
+        if (ReadRouting.onPrimary(() -> userRepository.findByUsername(username)).isPresent()) {
             throw new RuntimeException("Username already exists");
         }
 
@@ -44,21 +36,39 @@ public class AuthService {
         return userRepository.save(user);
     }
 
-    // Authenticate user and generate JWT token
-    public String login(String username, String password) {
-        User user = userRepository.findByUsername(username)
+    // Authenticate user and issue an access/refresh token pair
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public AuthTokensDTO login(String username, String password) {
+        // Credentials and password-change checks read the primary: a replica may not have the latest password
+        User user = ReadRouting.onPrimary(() -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new RuntimeException("Invalid username or password"));
 
         if (!passwordEncoder.matches(password, user.getPassword())) {
             throw new RuntimeException("Invalid username or password");
         }
 
-        return Jwts.builder()
-                .setSubject(user.getUsername())
-                .claim("role", user.getRole().name())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        return issueTokens(user);
+    }
+
+    // Renew with a refresh token: reloads the user so role and department changes apply, and a changed
+    // password (or a deleted user) invalidates every refresh token issued before
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public AuthTokensDTO refresh(String refreshToken) {
+        try {
+            Long userId = tokenService.parseRefreshToken(refreshToken);
+            return ReadRouting.onPrimary(() -> userRepository.findById(userId))
+                    .filter(user -> tokenService.isCurrentFor(refreshToken, user))
+                    .map(this::issueTokens)
+                    .orElseThrow(() -> new RuntimeException("Invalid or expired refresh token"));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid or expired refresh token");
+        }
+    }
+
+    private AuthTokensDTO issueTokens(User user) {
+        return new AuthTokensDTO(
+                tokenService.issueAccessToken(user),
+                tokenService.issueRefreshToken(user),
+                tokenService.getAccessTokenTtl().toSeconds());
     }
 }
@@ -0,0 +1,65 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.config.ReadRouting;
+import com.fintech.enterprise.service.dto.BudgetOverviewDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of the budget overview, rebuilt on the first read after an invalidation.
+ * Writers that change a department's budget figures (budget edits, approvals, department
+ * create/delete) must call {@link #invalidate()}; everything else is served from memory.
+ */
+@Component
+public class BudgetOverviewCache {
+
+    private record Snapshot(long generation, List<BudgetOverviewDTO> rows) {
+    }
+
+    private static final String BOOT_ID = UUID.randomUUID().toString().substring(0, 8);
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock loadLock = new ReentrantLock(); // not synchronized: the load is JDBC and must not pin a virtual thread
+    private volatile Snapshot snapshot;
+
+    public List<BudgetOverviewDTO> get(Supplier<List<BudgetOverviewDTO>> loader) {
+        Snapshot current = snapshot;
+        if (current != null && current.generation() == generation.get()) {
+            return current.rows();
+        }
+        loadLock.lock();
+        try {
+            // One reload per invalidation, however many dashboards poll at once
+            long loadingGeneration = generation.get();
+            current = snapshot;
+            if (current != null && current.generation() == loadingGeneration) {
+                return current.rows();
+            }
+            // From the primary: a replica behind the invalidating commit would be cached until the next one
+            List<BudgetOverviewDTO> rows = List.copyOf(ReadRouting.onPrimary(loader));
+            // A load that overlapped an invalidation keeps its old stamp and is ignored by the next read
+            snapshot = new Snapshot(loadingGeneration, rows);
+            return rows;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Moves on every invalidation, so it identifies the overview that {@link #get} serves. Generations are
+     * per instance and restart at zero, so the version carries the instance's boot id.
+     */
+    public String version() {
+        return BOOT_ID + "-" + generation.get();
+    }
+
+    // Applied after commit: invalidating earlier would let a concurrent reader re-cache pre-commit figures.
+    public void invalidate() {
+        AfterCommit.run(generation::incrementAndGet);
+    }
+}
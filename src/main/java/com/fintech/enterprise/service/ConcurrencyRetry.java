@@ -0,0 +1,82 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.exception.ConcurrentUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and replays it when it loses an optimistic-lock
+ * (version) or lock-acquisition race, with capped exponential backoff and full jitter.
+ * Each attempt re-reads its entities, so the retried work sees the winner's changes.
+ */
+@Component
+public class ConcurrencyRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public ConcurrencyRetry(PlatformTransactionManager transactionManager,
+                            @Value("${concurrency.retry.max-attempts:5}") int maxAttempts,
+                            @Value("${concurrency.retry.initial-backoff:5ms}") Duration initialBackoff,
+                            @Value("${concurrency.retry.max-backoff:200ms}") Duration maxBackoff,
+                            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.retries = meterRegistry.counter("fintrack.concurrency.retries");
+        this.exhausted = meterRegistry.counter("fintrack.concurrency.conflicts");
+    }
+
+    public <T> T inTransaction(Supplier<T> work) {
+        // Inside a caller's transaction a replay cannot start fresh; let the caller own the conflict
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw new ConcurrentUpdateException(
+                            "The record was changed concurrently; please reload and try again.", e);
+                }
+                retries.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        long sleepNanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(Duration.ofNanos(sleepNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while retrying a conflicting update.", e);
+        }
+    }
+}
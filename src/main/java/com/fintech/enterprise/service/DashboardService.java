@@ -0,0 +1,12 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.service.dto.DashboardDTO;
+
+/**
+ * Builds the manager dashboard from independent read queries run concurrently.
+ */
+public interface DashboardService {
+
+    // Newest expenses per category are limited to perCategory items (capped like any expense page)
+    DashboardDTO getDashboard(int perCategory);
+}
@@ -0,0 +1,116 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.config.MetricsConfig;
+import com.fintech.enterprise.exception.DashboardTimeoutException;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.service.dto.BudgetOverviewDTO;
+import com.fintech.enterprise.service.dto.DashboardDTO;
+import com.fintech.enterprise.service.dto.ExpensePageDTO;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class DashboardServiceImpl implements DashboardService {
+
+    private final DepartmentService departmentService;
+    private final ExpenseService expenseService;
+    private final Duration deadline;
+    // Shared by all dashboard requests, so together they never hold more than this many pool connections
+    private final Semaphore queryPermits;
+
+    public DashboardServiceImpl(DepartmentService departmentService,
+                                ExpenseService expenseService,
+                                @Value("${dashboard.deadline:2s}") Duration deadline,
+                                @Value("${dashboard.max-concurrent-queries:4}") int maxConcurrentQueries) {
+        this.departmentService = departmentService;
+        this.expenseService = expenseService;
+        this.deadline = deadline;
+        this.queryPermits = new Semaphore(maxConcurrentQueries);
+    }
+
+    @Override
+    public DashboardDTO getDashboard(int perCategory) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        // One virtual thread per query, scoped to this request; each waits for a query permit before it
+        // runs. Results are taken in completion order so the first failure (or the deadline) cancels
+        // whatever is still running or waiting.
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<Object> scope = new ExecutorCompletionService<>(executor);
+
+            Future<Object> overview = fork(scope, departmentService::getBudgetOverview);
+            Future<Object> biggest = fork(scope, expenseService::getBiggestExpenseThisMonth);
+            Map<ExpenseCategory, Future<Object>> byCategory = new EnumMap<>(ExpenseCategory.class);
+            for (ExpenseCategory category : ExpenseCategory.values()) {
+                byCategory.put(category,
+                        fork(scope, () -> expenseService.findExpensesByCategory(category, null, perCategory)));
+            }
+
+            awaitAll(scope, 2 + byCategory.size(), deadlineNanos);
+
+            Map<ExpenseCategory, ExpensePageDTO> recentByCategory = new EnumMap<>(ExpenseCategory.class);
+            byCategory.forEach((category, page) -> recentByCategory.put(category, resultOf(page)));
+            Optional<Expense> biggestExpense = resultOf(biggest);
+            return new DashboardDTO(resultOf(overview), biggestExpense.orElse(null), recentByCategory);
+        } finally {
+            // No-op on success; on failure interrupts stragglers instead of waiting past the deadline
+            executor.shutdownNow();
+        }
+    }
+
+    private Future<Object> fork(CompletionService<Object> scope, Callable<?> query) {
+        // Subtasks see the caller's authentication, as the sequential calls did
+        return scope.submit(new DelegatingSecurityContextCallable<Object>(() -> {
+            queryPermits.acquire(); // interrupted by shutdownNow when the request gives up
+            try {
+                return query.call();
+            } finally {
+                queryPermits.release();
+            }
+        }));
+    }
+
+    private void awaitAll(CompletionService<Object> scope, int tasks, long deadlineNanos) {
+        try {
+            for (int done = 0; done < tasks; done++) {
+                Future<Object> completed = scope.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    throw new DashboardTimeoutException("Dashboard did not complete within " + deadline.toMillis() + " ms");
+                }
+                completed.get(); // rethrows the first failure
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Dashboard query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dashboard request was interrupted", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T resultOf(Future<Object> future) {
+        return (T) future.resultNow();
+    }
+}
@@ -15,6 +15,9 @@ public interface DepartmentService {
 
     Optional<Department> findDepartmentById(Long id);
 
+    // Cached, read-only copy without members, for resolving a department reference (e.g. on expense submission)
+    Optional<Department> lookupDepartment(Long id);
+
     Department updateDepartment(Long id, Department departmentDetails);
 
     void deleteDepartment(Long id);
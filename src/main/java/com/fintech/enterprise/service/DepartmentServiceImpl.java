@@ -1,81 +1,121 @@
 package com.fintech.enterprise.service;
 
+import com.fintech.enterprise.config.MetricsConfig;
 import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Money;
 import com.fintech.enterprise.model.User;
 import com.fintech.enterprise.repository.DepartmentRepository;
 import com.fintech.enterprise.repository.UserRepository;
 import com.fintech.enterprise.service.dto.BudgetOverviewDTO;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Added for member management
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository; // Needed to manage User relationship
+    private final BudgetOverviewCache budgetOverviewCache;
+    private final ExpenseChangeWatermark changeWatermark;
+    private final ConcurrencyRetry concurrencyRetry;
+    private final EntityCache<Long, Department> departmentCache;
+    private final EntityCache<Long, User> userByIdCache;
+    private final EntityCache<String, User> userByUsernameCache;
 
     @Autowired
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository, UserRepository userRepository) {
+    public DepartmentServiceImpl(DepartmentRepository departmentRepository, UserRepository userRepository,
+                                 BudgetOverviewCache budgetOverviewCache, ExpenseChangeWatermark changeWatermark,
+                                 ConcurrencyRetry concurrencyRetry,
+                                 EntityCache<Long, Department> departmentCache,
+                                 EntityCache<Long, User> userByIdCache,
+                                 EntityCache<String, User> userByUsernameCache) {
         this.departmentRepository = departmentRepository;
         this.userRepository = userRepository;
+        this.budgetOverviewCache = budgetOverviewCache;
+        this.changeWatermark = changeWatermark;
+        this.concurrencyRetry = concurrencyRetry;
+        this.departmentCache = departmentCache;
+        this.userByIdCache = userByIdCache;
+        this.userByUsernameCache = userByUsernameCache;
     }
 
     // --- CRUD Operations ---
 
     @Override
+    @Transactional
     public Department createDepartment(Department department) {
         if (department.getSpentAmount() == null) {
-            department.setSpentAmount(BigDecimal.ZERO);
+            department.setSpentAmount(Money.ZERO);
         }
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        budgetOverviewCache.invalidate();
+        changeWatermark.departmentChanged(saved.getId());
+        return saved;
     }
 
     @Override
     public List<Department> findAllDepartments() {
-        return departmentRepository.findAll();
+        return departmentRepository.findAllWithMembers();
     }
 
     @Override
     public Optional<Department> findDepartmentById(Long id) {
-        return departmentRepository.findById(id);
+        return departmentRepository.findWithMembersById(id);
     }
 
     @Override
-    public Department updateDepartment(Long id, Department departmentDetails) {
-        Department department = findDepartmentById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Department not found with ID: " + id));
-
-        // Only allow updating name and budget. Spent amount is managed by expense approvals.
-        if (departmentDetails.getName() != null) {
-            department.setName(departmentDetails.getName());
-        }
-        if (departmentDetails.getYearlyBudget() != null) {
-            department.setYearlyBudget(departmentDetails.getYearlyBudget());
-        }
+    public Optional<Department> lookupDepartment(Long id) {
+        return departmentCache.get(id, departmentRepository::findById);
+    }
 
-        return departmentRepository.save(department);
+    @Override
+    public Department updateDepartment(Long id, Department departmentDetails) {
+        // Retried when an approval charges the department between our read and write (version bump)
+        return concurrencyRetry.inTransaction(() -> {
+            Department department = departmentRepository.findWithMembersById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Department not found with ID: " + id));
+
+            // Only allow updating name and budget. Spent amount is managed by expense approvals.
+            if (departmentDetails.getName() != null) {
+                department.setName(departmentDetails.getName());
+            }
+            if (departmentDetails.getYearlyBudget() != null) {
+                department.setYearlyBudget(departmentDetails.getYearlyBudget());
+            }
+
+            Department saved = departmentRepository.save(department);
+            budgetOverviewCache.invalidate();
+            changeWatermark.departmentChanged(id); // expenses render their department
+            departmentCache.evict(id);
+            return saved;
+        });
     }
 
     @Override
+    @Transactional
     public void deleteDepartment(Long id) {
         Department dept = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
 
         // Unlink all users from this department
-        if (dept.getMembers() != null) {
-            dept.getMembers().forEach(user -> user.setDepartment(null));
-        }
+        userRepository.unlinkDepartment(id);
 
         // Now delete the department
-        departmentRepository.deleteById(id);
+        departmentRepository.delete(dept);
+        budgetOverviewCache.invalidate();
+        changeWatermark.departmentChanged(id);
+        departmentCache.evict(id);
+        // The bulk unlink does not say which users it touched; department deletes are rare
+        userByIdCache.evictAll();
+        userByUsernameCache.evictAll();
     }
 
     // --- Membership Operations ---
@@ -83,65 +123,60 @@ public class DepartmentServiceImpl implements DepartmentService {
     @Override
     @Transactional
     public Department addMemberToDepartment(Long departmentId, Long userId) {
-        Department department = findDepartmentById(departmentId)
+        Department department = departmentRepository.findWithMembersById(departmentId)
                 .orElseThrow(() -> new EntityNotFoundException("Department not found with ID: " + departmentId));
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + userId));
 
+        Long previousDepartmentId = user.getDepartment() == null ? null : user.getDepartment().getId();
         user.setDepartment(department);
         userRepository.save(user);
+        evictUser(user);
+        changeWatermark.departmentsChanged(previousDepartmentId == null
+                ? List.of(departmentId) : List.of(previousDepartmentId, departmentId));
 
+        // Keep the already-fetched member list in step so the response needs no reload
+        if (department.getMembers().stream().noneMatch(member -> member.getId().equals(userId))) {
+            department.getMembers().add(user);
+        }
         return department;
     }
 
     @Override
     @Transactional
     public Department removeMemberFromDepartment(Long departmentId, Long userId) {
-        Department department = findDepartmentById(departmentId)
+        Department department = departmentRepository.findWithMembersById(departmentId)
                 .orElseThrow(() -> new EntityNotFoundException("Department not found with ID: " + departmentId));
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + userId));
 
-        if (!departmentId.equals(user.getDepartment().getId())) {
+        if (user.getDepartment() == null || !departmentId.equals(user.getDepartment().getId())) {
             throw new IllegalArgumentException("User ID " + userId + " does not belong to Department ID " + departmentId);
         }
 
         user.setDepartment(null);
         userRepository.save(user);
+        evictUser(user);
+        changeWatermark.departmentChanged(departmentId);
 
+        department.getMembers().removeIf(member -> member.getId().equals(userId));
         return department;
     }
 
+    // Cached users carry their department reference; the cached department itself has no member list
+    private void evictUser(User user) {
+        userByIdCache.evict(user.getId());
+        userByUsernameCache.evict(user.getUsername());
+    }
+
     // --- Reporting ---
 
     @Override
     public List<BudgetOverviewDTO> getBudgetOverview() {
-        return departmentRepository.findAll().stream()
-                .map(dept -> {
-                    BigDecimal remaining = dept.getYearlyBudget().subtract(dept.getSpentAmount());
-                    BigDecimal remainingPercent = BigDecimal.ZERO;
-
-                    if (dept.getYearlyBudget().compareTo(BigDecimal.ZERO) > 0) {
-                        remainingPercent = remaining
-                                .divide(dept.getYearlyBudget(), 4, RoundingMode.HALF_UP)
-                                .multiply(BigDecimal.valueOf(100));
-                    }
-
-                    BigDecimal spentPercent = dept.getYearlyBudget().compareTo(BigDecimal.ZERO) > 0
-                            ? dept.getSpentAmount().divide(dept.getYearlyBudget(), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-                            : BigDecimal.ZERO;
-
-                    return new BudgetOverviewDTO(
-                            dept.getName(),
-                            dept.getYearlyBudget(),
-                            dept.getSpentAmount(),
-                            remaining,
-                            remainingPercent,
-                            spentPercent
-                    );
-                })
-                .collect(Collectors.toList());
+        return budgetOverviewCache.get(() -> departmentRepository.findBudgetLines().stream()
+                .map(line -> BudgetOverviewDTO.of(line.getName(), line.getYearlyBudget(), line.getSpentAmount()))
+                .collect(Collectors.toList()));
     }
 }
@@ -0,0 +1,84 @@
+package com.fintech.enterprise.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fintech.enterprise.config.ReadRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-limited cache of detached entities for read paths (see CacheConfig for the instances).
+ * Cached instances are shared between requests: callers must treat them as read-only and load a fresh,
+ * managed entity from the repository for anything they modify. Writers evict with {@link #evict}, which
+ * applies after commit so a concurrent reader cannot re-cache the pre-commit row.
+ * <p>
+ * Inside a transaction a miss is loaded on the caller's own connection and not cached: the loader thread
+ * would need a second pool connection while the caller holds one (enough concurrent misses exhaust the pool),
+ * and the row may carry the transaction's own uncommitted changes. Hits are served either way.
+ * <p>
+ * Published as the standard cache.* meters (gets by result, puts, size/TTL evictions) plus
+ * fintrack.cache.invalidations for explicit evictions, all tagged with the cache name.
+ */
+public class EntityCache<K, V> {
+
+    private final AsyncCache<K, V> cache;
+    private final Counter invalidations;
+
+    public EntityCache(String name, long maxSize, Duration ttl, Executor loadExecutor, MeterRegistry meterRegistry) {
+        // JDBC loads run on loadExecutor (owned by the caller), never under the map lock; evicting an in-flight
+        // load discards it
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .executor(loadExecutor)
+                .<K, V>buildAsync(), name);
+        this.invalidations = meterRegistry.counter("fintrack.cache.invalidations", "cache", name);
+    }
+
+    // An empty loader result is not cached; loader exceptions propagate and nothing is cached
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Never waits on an in-flight load, which may itself be queued for a connection
+            CompletableFuture<V> cached = cache.getIfPresent(key);
+            V value = cached != null && cached.isDone() && !cached.isCompletedExceptionally() ? cached.join() : null;
+            return value != null ? Optional.of(value) : loader.apply(key);
+        }
+        try {
+            return Optional.ofNullable(cache.get(key, (k, executor) ->
+                    // Loaded from the primary, or an eviction could be followed by re-caching the old row
+                    CompletableFuture.supplyAsync(() -> ReadRouting.onPrimary(() -> loader.apply(k).orElse(null)),
+                            executor)).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void evict(K key) {
+        if (key != null) {
+            AfterCommit.run(() -> {
+                cache.synchronous().invalidate(key);
+                invalidations.increment();
+            });
+        }
+    }
+
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            cache.synchronous().invalidateAll();
+            invalidations.increment();
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.service.dto.ExpenseAnalyticsDTO;
+import com.fintech.enterprise.service.dto.ExpensePercentilesDTO;
+import com.fintech.enterprise.service.dto.ExpenseQueryFilter;
+
+import java.util.List;
+
+/**
+ * Ad-hoc aggregates over every expense, served from {@link ExpenseAnalyticsStore} without touching the database.
+ */
+public interface ExpenseAnalyticsService {
+
+    // Count/total/min/max/average per combination of the groupBy dimensions (a single group when empty)
+    ExpenseAnalyticsDTO aggregate(ExpenseQueryFilter filter, List<ExpenseAnalyticsStore.Dimension> groupBy);
+
+    // Exact amount percentiles of the matching expenses; defaults to p50, p90, p95 and p99
+    ExpensePercentilesDTO percentiles(ExpenseQueryFilter filter, List<Double> percentiles);
+
+    // Reloads the store from the database; returns the number of loaded expenses
+    int rebuildStore();
+}
@@ -0,0 +1,121 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.config.MetricsConfig;
+import com.fintech.enterprise.config.ReadRouting;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.service.dto.ExpenseAggregateDTO;
+import com.fintech.enterprise.service.dto.ExpenseAnalyticsDTO;
+import com.fintech.enterprise.service.dto.ExpensePercentilesDTO;
+import com.fintech.enterprise.service.dto.ExpenseQueryFilter;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ExpenseAnalyticsServiceImpl implements ExpenseAnalyticsService {
+
+    static final int MAX_GROUPS = 10_000;
+    static final List<Double> DEFAULT_PERCENTILES = List.of(50.0, 90.0, 95.0, 99.0);
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String LOAD_QUERY =
+            "SELECT id, version, department_id, user_id, category, status, date_submitted, amount FROM expense";
+
+    private final ExpenseAnalyticsStore analyticsStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExpenseAnalyticsServiceImpl(ExpenseAnalyticsStore analyticsStore, DataSource dataSource,
+                                       PlatformTransactionManager transactionManager) {
+        this.analyticsStore = analyticsStore;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        // PostgreSQL only streams with a server-side cursor when auto-commit is off (same as the export)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public ExpenseAnalyticsDTO aggregate(ExpenseQueryFilter filter, List<ExpenseAnalyticsStore.Dimension> groupBy) {
+        Set<ExpenseAnalyticsStore.Dimension> dimensions = EnumSet.noneOf(ExpenseAnalyticsStore.Dimension.class);
+        if (groupBy != null) {
+            dimensions.addAll(groupBy);
+        }
+        List<ExpenseAnalyticsStore.Group> groups = analyticsStore.aggregate(criteria(filter), dimensions);
+        if (groups.size() > MAX_GROUPS) {
+            throw new IllegalArgumentException("The query produces " + groups.size() + " groups (at most "
+                    + MAX_GROUPS + "); narrow the filter or group by fewer dimensions.");
+        }
+
+        long matched = 0;
+        List<ExpenseAggregateDTO> results = new ArrayList<>(groups.size());
+        for (ExpenseAnalyticsStore.Group group : groups) {
+            matched += group.count();
+            results.add(new ExpenseAggregateDTO(group.departmentId(), group.userId(), group.category(),
+                    group.status(), group.month(), group.count(), Money.ofMinor(group.totalCents()),
+                    Money.ofMinor(group.minCents()), Money.ofMinor(group.maxCents()),
+                    Money.ofMinor(group.totalCents()).dividedBy(group.count())));
+        }
+        return new ExpenseAnalyticsDTO(matched, results);
+    }
+
+    @Override
+    public ExpensePercentilesDTO percentiles(ExpenseQueryFilter filter, List<Double> percentiles) {
+        List<Double> requested = percentiles == null || percentiles.isEmpty() ? DEFAULT_PERCENTILES : percentiles;
+        ExpenseAnalyticsStore.Percentiles result = analyticsStore.percentiles(criteria(filter),
+                requested.stream().mapToDouble(Double::doubleValue).toArray());
+
+        Map<String, Money> values = new LinkedHashMap<>();
+        for (int i = 0; i < result.cents().length; i++) {
+            values.put("p" + BigDecimal.valueOf(requested.get(i)).stripTrailingZeros().toPlainString(),
+                    Money.ofMinor(result.cents()[i]));
+        }
+        return new ExpensePercentilesDTO(result.matched(), values);
+    }
+
+    @Override
+    public int rebuildStore() {
+        // From the primary: changes committed before the load starts are not replayed onto it
+        return ReadRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            try (Stream<ExpenseAnalyticsStore.Row> rows = jdbcTemplate.queryForStream(LOAD_QUERY,
+                    (rs, rowNum) -> new ExpenseAnalyticsStore.Row(
+                            rs.getLong("id"),
+                            rs.getLong("version"),
+                            rs.getLong("department_id"),
+                            rs.getLong("user_id"),
+                            ExpenseCategory.valueOf(rs.getString("category")),
+                            ExpenseStatus.valueOf(rs.getString("status")),
+                            rs.getObject("date_submitted", LocalDate.class),
+                            Money.of(rs.getBigDecimal("amount")).minorUnits()))) {
+                return analyticsStore.rebuild(rows);
+            }
+        }));
+    }
+
+    private static ExpenseAnalyticsStore.Criteria criteria(ExpenseQueryFilter filter) {
+        filter.checkRanges();
+        return new ExpenseAnalyticsStore.Criteria(filter.getDepartmentId(), filter.getSubmittedById(),
+                filter.getCategory(), filter.getStatus(), filter.getFrom(), filter.getTo(),
+                minorUnitsOrNull(filter.minAmountBound()), minorUnitsOrNull(filter.maxAmountBound()));
+    }
+
+    private static Long minorUnitsOrNull(Money amount) {
+        return amount == null ? null : amount.minorUnits();
+    }
+}
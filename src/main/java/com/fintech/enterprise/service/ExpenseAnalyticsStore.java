@@ -0,0 +1,757 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory column store of every expense for ad-hoc aggregates (group-by totals, percentiles).
+ * One primitive array per column: amounts as long cents, dates as epoch days and months, department and
+ * user ids dictionary-encoded to ints, category and status as enum ordinals. About 60 bytes per expense.
+ * <p>
+ * Queries scan the columns under a read lock; large scans are split across a fork-join pool and the
+ * partial results merged. Maintenance is shared with {@link ExpenseSearchIndex} (see {@link ExpenseProjection}):
+ * writers hand over the expenses they changed or deleted, the store applies them after commit and ignores
+ * out-of-order versions.
+ */
+@Component
+public class ExpenseAnalyticsStore {
+
+    public enum Dimension { DEPARTMENT, USER, CATEGORY, STATUS, MONTH }
+
+    /** The aggregated part of one expense, captured after its transaction committed. */
+    public record Row(Long id, long version, Long departmentId, Long userId, ExpenseCategory category,
+                      ExpenseStatus status, LocalDate dateSubmitted, long amountCents) {
+
+        public static Row of(Expense expense) {
+            return new Row(expense.getId(), expense.getVersion(), expense.getDepartment().getId(),
+                    expense.getSubmittedBy().getId(), expense.getCategory(), expense.getStatus(),
+                    expense.getDateSubmitted(), expense.getAmount().minorUnits());
+        }
+    }
+
+    /** AND of the criteria that are set; date and amount bounds are inclusive. */
+    public record Criteria(Long departmentId, Long userId, ExpenseCategory category, ExpenseStatus status,
+                           LocalDate from, LocalDate to, Long minCents, Long maxCents) {
+
+        public static final Criteria ALL = new Criteria(null, null, null, null, null, null, null, null);
+    }
+
+    /** One group of a group-by; the dimensions not grouped by are null. */
+    public record Group(Long departmentId, Long userId, ExpenseCategory category, ExpenseStatus status,
+                        YearMonth month, long count, long totalCents, long minCents, long maxCents) {
+    }
+
+    /** Nearest-rank percentiles, in the order requested; empty when nothing matched. */
+    public record Percentiles(long matched, long[] cents) {
+    }
+
+    private static final byte DEAD = -1; // status of a replaced or deleted row
+    private static final int MIN_DEAD_FOR_COMPACTION = 10_000;
+    private static final int MIN_LEAF_ROWS = 1 << 15;
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 250_000;
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+    private static final ExpenseStatus[] STATUSES = ExpenseStatus.values();
+
+    // Percentile buckets: the exponent and top 8 mantissa bits of the amount, so bucket order is amount order
+    // and a bucket spans at most 1/256 of its values. Bucket 0 holds zero and negative amounts.
+    private static final int MANTISSA_BITS = 8;
+    private static final int BUCKETS = 1 + (63 << MANTISSA_BITS);
+
+    private final ExpenseProjection<Row, State> projection = new ExpenseProjection<>(State::new);
+    private final ForkJoinPool pool; // null when scans always run on the caller's thread
+    private final int parallelThreshold;
+
+    public ExpenseAnalyticsStore() {
+        this(0, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    // parallelism <= 0 means one worker per core; scans of fewer rows than the threshold stay single-threaded
+    @Autowired
+    public ExpenseAnalyticsStore(@Value("${analytics.parallelism:0}") int parallelism,
+                                 @Value("${analytics.parallel-threshold:250000}") int parallelThreshold) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = workers > 1 ? new ForkJoinPool(workers) : null;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    // --- Maintenance ---
+
+    public void index(Collection<Expense> expenses) {
+        projection.index(expenses, Row::of);
+    }
+
+    public void remove(Collection<Long> expenseIds) {
+        projection.remove(expenseIds);
+    }
+
+    // Loads a fresh store from the given rows while the current one keeps serving; returns its size.
+    public int rebuild(Stream<Row> rows) {
+        return projection.rebuild(rows);
+    }
+
+    public int size() {
+        return projection.size();
+    }
+
+    // --- Queries ---
+
+    // Count, total, min and max per combination of the given dimensions (one group overall when none are given)
+    public List<Group> aggregate(Criteria criteria, Set<Dimension> groupBy) {
+        return projection.read(state -> state.aggregate(criteria, groupBy));
+    }
+
+    // Exact nearest-rank percentiles (0-100) of the matching amounts
+    public Percentiles percentiles(Criteria criteria, double... percentiles) {
+        for (double percentile : percentiles) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentiles must be between 0 and 100.");
+            }
+        }
+        return projection.read(state -> state.percentiles(criteria, percentiles));
+    }
+
+    static int bucket(long cents) {
+        if (cents <= 0) {
+            return 0;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(cents);
+        long mantissa = exponent >= MANTISSA_BITS ? cents >>> (exponent - MANTISSA_BITS) : cents << (MANTISSA_BITS - exponent);
+        return 1 + (exponent << MANTISSA_BITS) + (int) (mantissa & ((1 << MANTISSA_BITS) - 1));
+    }
+
+    // --- Scanning ---
+
+    @FunctionalInterface
+    private interface RangeScan<A> {
+        void scan(A accumulator, int from, int to);
+    }
+
+    // Runs the leaf scan over rows [0, rows), split across the pool when the scan is large enough
+    private <A> A scan(int rows, Supplier<A> accumulator, RangeScan<A> leaf, BinaryOperator<A> merge) {
+        if (pool == null || rows < parallelThreshold) {
+            A result = accumulator.get();
+            leaf.scan(result, 0, rows);
+            return result;
+        }
+        int leafRows = Math.max(MIN_LEAF_ROWS, rows / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new ScanTask<>(0, rows, leafRows, accumulator, leaf, merge));
+    }
+
+    private static final class ScanTask<A> extends RecursiveTask<A> {
+        private final int from;
+        private final int to;
+        private final int leafRows;
+        private final Supplier<A> accumulator;
+        private final RangeScan<A> leaf;
+        private final BinaryOperator<A> merge;
+
+        ScanTask(int from, int to, int leafRows, Supplier<A> accumulator, RangeScan<A> leaf, BinaryOperator<A> merge) {
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+            this.accumulator = accumulator;
+            this.leaf = leaf;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= leafRows) {
+                A result = accumulator.get();
+                leaf.scan(result, from, to);
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask<A> left = new ScanTask<>(from, middle, leafRows, accumulator, leaf, merge);
+            left.fork();
+            A right = new ScanTask<>(middle, to, leafRows, accumulator, leaf, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+
+    // Criteria translated to column codes; a department or user never seen cannot match anything
+    private record Matcher(int department, int user, int category, int status, int fromDay, int toDay,
+                           long minCents, long maxCents) {
+    }
+
+    // Group key = sum of code * multiplier over the grouped dimensions (multiplier 0 for the others)
+    private record KeyPlan(long department, long user, long category, long status, long month,
+                           int departmentRadix, int userRadix, int monthRadix) {
+    }
+
+    private final class State implements ExpenseProjection.State<Row> {
+        final LongIntMap rowsById = new LongIntMap();
+        final Dictionary departmentCodes = new Dictionary();
+        final Dictionary userCodes = new Dictionary();
+        long[] ids = new long[1024];
+        long[] versions = new long[1024];
+        long[] cents = new long[1024];
+        int[] days = new int[1024];
+        int[] months = new int[1024]; // months since 1970-01, for group-by month
+        int[] departments = new int[1024];
+        int[] users = new int[1024];
+        byte[] categories = new byte[1024];
+        byte[] statuses = new byte[1024]; // DEAD once replaced or deleted
+        int nextRow;
+        int live;
+        int minMonth = Integer.MAX_VALUE;
+        int maxMonth = Integer.MIN_VALUE;
+
+        @Override
+        public int live() {
+            return live;
+        }
+
+        @Override
+        public void upsert(Row row) {
+            int existing = rowsById.get(row.id());
+            if (existing >= 0) {
+                if (versions[existing] >= row.version()) {
+                    return;
+                }
+                kill(existing);
+            }
+            append(row.id(), row.version(), row.amountCents(), (int) row.dateSubmitted().toEpochDay(),
+                    monthOf(row.dateSubmitted()), departmentCodes.encode(row.departmentId()),
+                    userCodes.encode(row.userId()), (byte) row.category().ordinal(), (byte) row.status().ordinal());
+            maybeCompact();
+        }
+
+        @Override
+        public void delete(Long id) {
+            int existing = rowsById.get(id);
+            if (existing >= 0) {
+                kill(existing);
+                maybeCompact();
+            }
+        }
+
+        private void append(long id, long version, long amount, int day, int month, int department, int user,
+                            byte category, byte status) {
+            if (nextRow == ids.length) {
+                resize(ids.length + (ids.length >> 1));
+            }
+            int row = nextRow++;
+            ids[row] = id;
+            versions[row] = version;
+            cents[row] = amount;
+            days[row] = day;
+            months[row] = month;
+            departments[row] = department;
+            users[row] = user;
+            categories[row] = category;
+            statuses[row] = status;
+            rowsById.put(id, row);
+            live++;
+            minMonth = Math.min(minMonth, month);
+            maxMonth = Math.max(maxMonth, month);
+        }
+
+        private void kill(int row) {
+            statuses[row] = DEAD;
+            rowsById.remove(ids[row]);
+            live--;
+        }
+
+        private void resize(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+            days = Arrays.copyOf(days, capacity);
+            months = Arrays.copyOf(months, capacity);
+            departments = Arrays.copyOf(departments, capacity);
+            users = Arrays.copyOf(users, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+        }
+
+        // Moves the live rows down over the dead ones, keeping their order
+        private void maybeCompact() {
+            int dead = nextRow - live;
+            if (dead < MIN_DEAD_FOR_COMPACTION || dead < live) {
+                return;
+            }
+            int target = 0;
+            for (int row = 0; row < nextRow; row++) {
+                if (statuses[row] == DEAD) {
+                    continue;
+                }
+                ids[target] = ids[row];
+                versions[target] = versions[row];
+                cents[target] = cents[row];
+                days[target] = days[row];
+                months[target] = months[row];
+                departments[target] = departments[row];
+                users[target] = users[row];
+                categories[target] = categories[row];
+                statuses[target] = statuses[row];
+                rowsById.put(ids[target], target);
+                target++;
+            }
+            nextRow = target;
+            resize(Math.max(1024, live + (live >> 1)));
+        }
+
+        private Matcher matcher(Criteria criteria) {
+            int department = criteria.departmentId() == null ? -1 : departmentCodes.find(criteria.departmentId());
+            int user = criteria.userId() == null ? -1 : userCodes.find(criteria.userId());
+            if ((criteria.departmentId() != null && department < 0) || (criteria.userId() != null && user < 0)) {
+                return null;
+            }
+            return new Matcher(department, user,
+                    criteria.category() == null ? -1 : criteria.category().ordinal(),
+                    criteria.status() == null ? -1 : criteria.status().ordinal(),
+                    criteria.from() == null ? Integer.MIN_VALUE : (int) criteria.from().toEpochDay(),
+                    criteria.to() == null ? Integer.MAX_VALUE : (int) criteria.to().toEpochDay(),
+                    criteria.minCents() == null ? Long.MIN_VALUE : criteria.minCents(),
+                    criteria.maxCents() == null ? Long.MAX_VALUE : criteria.maxCents());
+        }
+
+        private boolean matches(Matcher m, int row) {
+            byte status = statuses[row];
+            return status != DEAD
+                    && (m.status() < 0 || status == m.status())
+                    && (m.department() < 0 || departments[row] == m.department())
+                    && (m.user() < 0 || users[row] == m.user())
+                    && (m.category() < 0 || categories[row] == m.category())
+                    && days[row] >= m.fromDay() && days[row] <= m.toDay()
+                    && cents[row] >= m.minCents() && cents[row] <= m.maxCents();
+        }
+
+        // --- Group-by ---
+
+        List<Group> aggregate(Criteria criteria, Set<Dimension> groupBy) {
+            Matcher matcher = matcher(criteria);
+            if (matcher == null || live == 0) {
+                return List.of();
+            }
+            KeyPlan plan = keyPlan(groupBy);
+            GroupTable groups = scan(nextRow, GroupTable::new,
+                    (table, from, to) -> aggregateRange(matcher, plan, table, from, to),
+                    (left, right) -> left.mergeFrom(right));
+
+            List<Group> result = new ArrayList<>(groups.size);
+            for (int slot = 0; slot < groups.keys.length; slot++) {
+                if (groups.keys[slot] != GroupTable.EMPTY) {
+                    result.add(decode(plan, groups, slot));
+                }
+            }
+            result.sort(Comparator.comparing(Group::departmentId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Group::userId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Group::category, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Group::status, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Group::month, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return result;
+        }
+
+        private void aggregateRange(Matcher matcher, KeyPlan plan, GroupTable table, int from, int to) {
+            int baseMonth = minMonth;
+            for (int row = from; row < to; row++) {
+                if (matches(matcher, row)) {
+                    long key = departments[row] * plan.department() + users[row] * plan.user()
+                            + categories[row] * plan.category() + statuses[row] * plan.status()
+                            + (months[row] - baseMonth) * plan.month();
+                    table.add(key, cents[row]);
+                }
+            }
+        }
+
+        // Month varies fastest, department slowest
+        private KeyPlan keyPlan(Set<Dimension> groupBy) {
+            int monthRadix = maxMonth - minMonth + 1;
+            long multiplier = 1;
+            long month = 0, status = 0, category = 0, user = 0, department = 0;
+            if (groupBy.contains(Dimension.MONTH)) {
+                month = multiplier;
+                multiplier = Math.multiplyExact(multiplier, monthRadix);
+            }
+            if (groupBy.contains(Dimension.STATUS)) {
+                status = multiplier;
+                multiplier = Math.multiplyExact(multiplier, STATUSES.length);
+            }
+            if (groupBy.contains(Dimension.CATEGORY)) {
+                category = multiplier;
+                multiplier = Math.multiplyExact(multiplier, CATEGORIES.length);
+            }
+            if (groupBy.contains(Dimension.USER)) {
+                user = multiplier;
+                multiplier = Math.multiplyExact(multiplier, userCodes.size);
+            }
+            if (groupBy.contains(Dimension.DEPARTMENT)) {
+                department = multiplier;
+                Math.multiplyExact(multiplier, departmentCodes.size); // the key space must still fit in a long
+            }
+            return new KeyPlan(department, user, category, status, month,
+                    departmentCodes.size, userCodes.size, monthRadix);
+        }
+
+        private Group decode(KeyPlan plan, GroupTable groups, int slot) {
+            long key = groups.keys[slot];
+            return new Group(
+                    plan.department() == 0 ? null : departmentCodes.ids[(int) (key / plan.department() % plan.departmentRadix())],
+                    plan.user() == 0 ? null : userCodes.ids[(int) (key / plan.user() % plan.userRadix())],
+                    plan.category() == 0 ? null : CATEGORIES[(int) (key / plan.category() % CATEGORIES.length)],
+                    plan.status() == 0 ? null : STATUSES[(int) (key / plan.status() % STATUSES.length)],
+                    plan.month() == 0 ? null : yearMonth(minMonth + (int) (key / plan.month() % plan.monthRadix())),
+                    groups.counts[slot], groups.sums[slot], groups.mins[slot], groups.maxs[slot]);
+        }
+
+        // --- Percentiles ---
+
+        // Two scans: a histogram locates the bucket holding each requested rank, then only the amounts
+        // in those buckets are collected and sorted to read the exact values.
+        Percentiles percentiles(Criteria criteria, double[] percentiles) {
+            Matcher matcher = matcher(criteria);
+            if (matcher == null || live == 0) {
+                return new Percentiles(0, new long[0]);
+            }
+            long[] histogram = scan(nextRow, () -> new long[BUCKETS],
+                    (counts, from, to) -> histogramRange(matcher, counts, from, to),
+                    (left, right) -> {
+                        for (int i = 0; i < BUCKETS; i++) {
+                            left[i] += right[i];
+                        }
+                        return left;
+                    });
+            long matched = 0;
+            for (long count : histogram) {
+                matched += count;
+            }
+            if (matched == 0) {
+                return new Percentiles(0, new long[0]);
+            }
+
+            int[] bucketOfRank = new int[percentiles.length];
+            long[] rankInBucket = new long[percentiles.length];
+            int[] targetOfBucket = new int[BUCKETS];
+            Arrays.fill(targetOfBucket, -1);
+            int targets = 0;
+            for (int i = 0; i < percentiles.length; i++) {
+                long rank = Math.max(1, (long) Math.ceil(percentiles[i] / 100 * matched));
+                int bucket = 0;
+                while (rank > histogram[bucket]) {
+                    rank -= histogram[bucket++];
+                }
+                bucketOfRank[i] = bucket;
+                rankInBucket[i] = rank;
+                if (targetOfBucket[bucket] < 0) {
+                    targetOfBucket[bucket] = targets++;
+                }
+            }
+
+            int targetCount = targets;
+            LongList[] values = scan(nextRow, () -> newLists(targetCount),
+                    (lists, from, to) -> collectRange(matcher, targetOfBucket, lists, from, to),
+                    (left, right) -> {
+                        for (int i = 0; i < targetCount; i++) {
+                            left[i].addAll(right[i]);
+                        }
+                        return left;
+                    });
+            for (LongList list : values) {
+                Arrays.sort(list.values, 0, list.size);
+            }
+            long[] result = new long[percentiles.length];
+            for (int i = 0; i < percentiles.length; i++) {
+                result[i] = values[targetOfBucket[bucketOfRank[i]]].values[(int) rankInBucket[i] - 1];
+            }
+            return new Percentiles(matched, result);
+        }
+
+        private void histogramRange(Matcher matcher, long[] counts, int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (matches(matcher, row)) {
+                    counts[bucket(cents[row])]++;
+                }
+            }
+        }
+
+        private void collectRange(Matcher matcher, int[] targetOfBucket, LongList[] lists, int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (matches(matcher, row)) {
+                    int target = targetOfBucket[bucket(cents[row])];
+                    if (target >= 0) {
+                        lists[target].add(cents[row]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int monthOf(LocalDate date) {
+        return (date.getYear() - 1970) * 12 + date.getMonthValue() - 1;
+    }
+
+    private static YearMonth yearMonth(int month) {
+        return YearMonth.of(1970 + Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1);
+    }
+
+    private static LongList[] newLists(int count) {
+        LongList[] lists = new LongList[count];
+        for (int i = 0; i < count; i++) {
+            lists[i] = new LongList();
+        }
+        return lists;
+    }
+
+    // --- Primitive collections (no boxing per row) ---
+
+    private static final class LongList {
+        long[] values = new long[16];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LongList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+    }
+
+    // Open-addressing count/sum/min/max per non-negative group key
+    private static final class GroupTable {
+        static final long EMPTY = -1;
+
+        long[] keys;
+        long[] counts;
+        long[] sums;
+        long[] mins;
+        long[] maxs;
+        int size;
+        int shift;
+
+        GroupTable() {
+            allocate(16);
+        }
+
+        void add(long key, long amount) {
+            int slot = slot(key);
+            if (keys[slot] == EMPTY) {
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                    slot = slot(key);
+                }
+                keys[slot] = key;
+                mins[slot] = amount;
+                maxs[slot] = amount;
+                size++;
+            } else {
+                mins[slot] = Math.min(mins[slot], amount);
+                maxs[slot] = Math.max(maxs[slot], amount);
+            }
+            counts[slot]++;
+            sums[slot] += amount;
+        }
+
+        GroupTable mergeFrom(GroupTable other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.keys[i] != EMPTY) {
+                    merge(other.keys[i], other.counts[i], other.sums[i], other.mins[i], other.maxs[i]);
+                }
+            }
+            return this;
+        }
+
+        private void merge(long key, long count, long sum, long min, long max) {
+            int slot = slot(key);
+            if (keys[slot] == EMPTY) {
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                    slot = slot(key);
+                }
+                keys[slot] = key;
+                mins[slot] = min;
+                maxs[slot] = max;
+                size++;
+            } else {
+                mins[slot] = Math.min(mins[slot], min);
+                maxs[slot] = Math.max(maxs[slot], max);
+            }
+            counts[slot] += count;
+            sums[slot] += sum;
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            long[] oldSums = sums;
+            long[] oldMins = mins;
+            long[] oldMaxs = maxs;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                    sums[slot] = oldSums[i];
+                    mins[slot] = oldMins[i];
+                    maxs[slot] = oldMaxs[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            counts = new long[capacity];
+            sums = new long[capacity];
+            mins = new long[capacity];
+            maxs = new long[capacity];
+            shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        }
+    }
+
+    // Open-addressing long -> int map (linear probing, backward-shift deletion); get returns -1 when absent
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+        private int shift;
+
+        LongIntMap() {
+            allocate(16);
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = home(key); ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = home(key);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int hole = home(key);
+            while (keys[hole] != key) {
+                if (keys[hole] == EMPTY) {
+                    return;
+                }
+                hole = (hole + 1) & mask;
+            }
+            // Pull back every later entry of the probe run that may live in the hole
+            for (int slot = (hole + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (((slot - home(keys[slot])) & mask) >= ((slot - hole) & mask)) {
+                    keys[hole] = keys[slot];
+                    values[hole] = values[slot];
+                    hole = slot;
+                }
+            }
+            keys[hole] = EMPTY;
+            size--;
+        }
+
+        private int home(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(oldKeys.length * 2);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            values = new int[capacity];
+            shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        }
+    }
+
+    // Dense int codes for ids, in first-seen order
+    private static final class Dictionary {
+        private final LongIntMap codes = new LongIntMap();
+        long[] ids = new long[16];
+        int size;
+
+        int encode(long id) {
+            int code = codes.get(id);
+            if (code >= 0) {
+                return code;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            codes.put(id, size);
+            return size++;
+        }
+
+        int find(long id) {
+            return codes.get(id);
+        }
+    }
+}
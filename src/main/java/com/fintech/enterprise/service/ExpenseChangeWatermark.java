@@ -0,0 +1,80 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.repository.ChangeWatermarkRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Change counters behind the ETags of the expense and department read endpoints: a response tagged with
+ * the watermark read before its query, in the same transaction, is still current while the watermark is
+ * unchanged. Writers of expenses, or of the departments and users rendered inside them, must report the
+ * change here from inside their transaction.
+ * <p>
+ * The counters live in the change_watermark table and move with the writer's commit, so every instance
+ * (and a replica that has replayed the write) sees them together with the data. Writes made outside the
+ * application must bump a counter too, e.g. the "departments" scope. A writer holds its departments'
+ * counter rows until commit; bumps are issued in id order so that two writers cannot deadlock on them.
+ */
+@Component
+public class ExpenseChangeWatermark {
+
+    private static final String EVERY_DEPARTMENT = "departments"; // changes whose departments are not known
+
+    private final ChangeWatermarkRepository watermarkRepository;
+
+    public ExpenseChangeWatermark(ChangeWatermarkRepository watermarkRepository) {
+        this.watermarkRepository = watermarkRepository;
+    }
+
+    /** Moves on every reported change. */
+    public String any() {
+        return Long.toString(watermarkRepository.sumOfAll());
+    }
+
+    /** Moves on changes to the department's expenses or to the department itself. */
+    public String department(Long departmentId) {
+        return Long.toString(watermarkRepository.sumOf(List.of(EVERY_DEPARTMENT, scopeOf(departmentId))));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void expensesChanged(Collection<Expense> expenses) {
+        departmentsChanged(expenses.stream()
+                .map(expense -> expense.getDepartment() == null ? null : expense.getDepartment().getId())
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void departmentChanged(Long departmentId) {
+        departmentsChanged(List.of(departmentId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void departmentsChanged(Collection<Long> departmentIds) {
+        departmentIds.stream().distinct().sorted().forEach(id -> bump(scopeOf(id)));
+    }
+
+    // e.g. a user edit: their expenses may sit in any department
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void everythingChanged() {
+        bump(EVERY_DEPARTMENT);
+    }
+
+    // A department's first change creates its row; a concurrent creator's insert is a no-op
+    private void bump(String scope) {
+        if (watermarkRepository.bump(scope) == 0) {
+            watermarkRepository.ensureScope(scope);
+            watermarkRepository.bump(scope);
+        }
+    }
+
+    private static String scopeOf(Long departmentId) {
+        return "department:" + departmentId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the (dateSubmitted DESC, id DESC) ordering used for expense pages.
+ */
+public record ExpenseCursor(LocalDate dateSubmitted, Long id) {
+
+    public static ExpenseCursor of(Expense expense) {
+        return new ExpenseCursor(expense.getDateSubmitted(), expense.getId());
+    }
+
+    public String encode() {
+        String raw = dateSubmitted + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ExpenseCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new ExpenseCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
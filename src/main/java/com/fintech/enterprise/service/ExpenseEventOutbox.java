@@ -0,0 +1,40 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseEvent;
+import com.fintech.enterprise.model.ExpenseEventType;
+import com.fintech.enterprise.repository.ExpenseEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Writes expense events into the outbox table. Only callable inside the transaction that makes the change,
+ * so an event is committed or rolled back together with it; ExpenseEventRelay publishes them afterwards.
+ */
+@Component
+public class ExpenseEventOutbox {
+
+    private final ExpenseEventRepository eventRepository;
+    private final Clock clock;
+
+    public ExpenseEventOutbox(ExpenseEventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+        this.clock = Clock.systemUTC();
+    }
+
+    // Captures the expenses' current state, so call it after applying the change (before deleting, for DELETED)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ExpenseEventType type, Collection<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        eventRepository.flush(); // versions are bumped when the change is flushed
+        Instant now = clock.instant();
+        eventRepository.saveAll(expenses.stream().map(expense -> ExpenseEvent.of(type, expense, now)).toList());
+    }
+}
@@ -0,0 +1,211 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.ExpenseEvent;
+import com.fintech.enterprise.repository.ExpenseEventRepository;
+import com.fintech.enterprise.service.dto.ExpenseEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes pending outbox events to every {@link ExpenseEventSink}, oldest first, in batches. A batch gets
+ * consecutive feed positions and is marked published in the same transaction that hands it to the sinks;
+ * if a sink fails the transaction rolls back and the batch is retried on the next run (at-least-once).
+ * <p>
+ * Positions are assigned by this single relay thread and only ever grow, so a feed reader that remembers
+ * the last position never misses an event, even one whose writer committed late with a lower id. The events
+ * of one expense are positioned in expense version order, which unlike id order is their commit order.
+ * Run the relay on one instance (outbox.relay.enabled); the unique position index makes a second one fail
+ * its batches rather than interleave, but they would redeliver.
+ * <p>
+ * Metrics: fintrack.outbox.published and fintrack.outbox.failures.
+ */
+@Component
+public class ExpenseEventRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseEventRelay.class);
+
+    // Rows written before versions were kept sort first; List.sort is stable, so they keep their id order
+    private static final Comparator<ExpenseEvent> VERSION_ORDER = Comparator.comparing(ExpenseEvent::getExpenseVersion,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ExpenseEventRepository eventRepository;
+    private final List<ExpenseEventSink> sinks;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final Duration interval;
+    private final Duration retention;
+    private final boolean enabled;
+    private final Clock clock = Clock.systemUTC();
+    private final Counter published;
+    private final Counter failures;
+
+    private final ReentrantLock lock = new ReentrantLock(); // scheduled runs vs. direct calls (tests, admin)
+    private long lastPosition = -1; // -1: read from the table on the next run
+    private boolean failing;
+    private ScheduledExecutorService scheduler;
+
+    public ExpenseEventRelay(ExpenseEventRepository eventRepository, List<ExpenseEventSink> sinks,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             @Value("${outbox.relay.batch-size:500}") int batchSize,
+                             @Value("${outbox.relay.interval:200ms}") Duration interval,
+                             @Value("${outbox.retention:7d}") Duration retention,
+                             @Value("${outbox.relay.enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.sinks = List.copyOf(sinks);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.retention = retention;
+        this.enabled = enabled;
+        this.published = meterRegistry.counter("fintrack.outbox.published");
+        this.failures = meterRegistry.counter("fintrack.outbox.failures");
+    }
+
+    // --- Publishing ---
+
+    // Publishes everything pending at the time of the call; returns how many events were published
+    public int publishPending() {
+        int total = 0;
+        int count;
+        do {
+            count = publishBatch();
+            total += count;
+        } while (count >= batchSize);
+        return total;
+    }
+
+    private int publishBatch() {
+        lock.lock();
+        try {
+            Integer count = transaction.execute(status -> {
+                List<ExpenseEvent> batch = new ArrayList<>(eventRepository.findPending(Limit.of(batchSize)));
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                if (batch.size() == batchSize) {
+                    // An earlier change to an expense in the batch may have a higher id than the batch reached
+                    batch.addAll(eventRepository.findPendingAfter(batch.get(batch.size() - 1).getId(),
+                            batch.stream().map(ExpenseEvent::getExpenseId).collect(Collectors.toSet())));
+                }
+                orderPerExpense(batch);
+                long position = lastPosition >= 0 ? lastPosition : eventRepository.findLastPosition();
+                for (ExpenseEvent event : batch) {
+                    event.setPosition(++position);
+                }
+                eventRepository.flush(); // claim the positions before anything leaves the process
+
+                List<ExpenseEventDTO> events = batch.stream().map(ExpenseEventDTO::of).toList();
+                for (ExpenseEventSink sink : sinks) {
+                    try {
+                        sink.publish(events);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Event sink " + sink.getClass().getSimpleName() + " failed", e);
+                    }
+                }
+                lastPosition = position;
+                return batch.size();
+            });
+            published.increment(count);
+            if (failing) {
+                failing = false;
+                log.info("Outbox relay recovered");
+            }
+            return count;
+        } catch (RuntimeException e) {
+            lastPosition = -1; // the batch rolled back; positions are read again next time
+            failures.increment();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Each expense keeps the slots its events hold in the id-ordered batch but fills them in version order
+    private static void orderPerExpense(List<ExpenseEvent> batch) {
+        Map<Long, Iterator<ExpenseEvent>> inVersionOrder = new HashMap<>();
+        batch.stream().collect(Collectors.groupingBy(ExpenseEvent::getExpenseId)).forEach((expenseId, events) -> {
+            events.sort(VERSION_ORDER);
+            inVersionOrder.put(expenseId, events.iterator());
+        });
+        batch.replaceAll(event -> inVersionOrder.get(event.getExpenseId()).next());
+    }
+
+    // Published events older than outbox.retention; consumers further behind than that must resync
+    public int purgePublished() {
+        return transaction.execute(status -> eventRepository.deletePublishedBefore(clock.instant().minus(retention)));
+    }
+
+    // --- Lifecycle ---
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduled, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeScheduled, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    // A failing sink is reported once, not on every run, until a batch goes through again
+    private void runScheduled() {
+        try {
+            publishPending();
+        } catch (RuntimeException e) {
+            if (!failing) {
+                failing = true;
+                log.error("Outbox relay failed; retrying every {} ms", interval.toMillis(), e);
+            }
+        }
+    }
+
+    private void purgeScheduled() {
+        try {
+            purgePublished();
+        } catch (RuntimeException e) {
+            log.warn("Outbox purge failed", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.service.dto.ExpenseEventPageDTO;
+
+public interface ExpenseEventService {
+
+    // Published events after the given feed position (0 for the oldest retained), optionally for one department
+    ExpenseEventPageDTO findEvents(long after, Long departmentId, Integer size);
+}
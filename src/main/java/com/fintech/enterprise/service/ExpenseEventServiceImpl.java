@@ -0,0 +1,48 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.config.MetricsConfig;
+import com.fintech.enterprise.model.ExpenseEvent;
+import com.fintech.enterprise.repository.ExpenseEventRepository;
+import com.fintech.enterprise.service.dto.ExpenseEventDTO;
+import com.fintech.enterprise.service.dto.ExpenseEventPageDTO;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ExpenseEventServiceImpl implements ExpenseEventService {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ExpenseEventRepository eventRepository;
+
+    public ExpenseEventServiceImpl(ExpenseEventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    // One index range read per call; fetches one row more than requested to tell whether more are waiting
+    @Override
+    @Transactional(readOnly = true)
+    public ExpenseEventPageDTO findEvents(long after, Long departmentId, Integer size) {
+        if (after < 0) {
+            throw new IllegalArgumentException("'after' must not be negative.");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+        List<ExpenseEvent> rows = departmentId == null
+                ? eventRepository.findByPositionGreaterThanOrderByPosition(after, limit)
+                : eventRepository.findByPositionGreaterThanAndDepartmentIdOrderByPosition(after, departmentId, limit);
+
+        boolean more = rows.size() > pageSize;
+        List<ExpenseEventDTO> events = (more ? rows.subList(0, pageSize) : rows).stream()
+                .map(ExpenseEventDTO::of)
+                .toList();
+        long lastPosition = events.isEmpty() ? after : events.get(events.size() - 1).getPosition();
+        return new ExpenseEventPageDTO(events, lastPosition, more);
+    }
+}
@@ -0,0 +1,14 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.service.dto.ExpenseEventDTO;
+
+import java.util.List;
+
+/**
+ * Destination for published expense events. Every sink bean receives every batch, in position order.
+ * Delivery is at-least-once: if any sink throws, the batch stays pending and is offered to all sinks again.
+ */
+public interface ExpenseEventSink {
+
+    void publish(List<ExpenseEventDTO> events) throws Exception;
+}
@@ -0,0 +1,15 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.service.dto.ExpenseExportFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams expenses matching a filter straight to an output stream, without materialising them.
+ */
+public interface ExpenseExportService {
+
+    // Returns the number of rows written
+    long export(ExpenseExportFilter filter, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,169 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The maintenance half of an in-memory projection of the expense table ({@link ExpenseSearchIndex},
+ * {@link ExpenseAnalyticsStore}): one state behind a read/write lock, writers' changes applied after commit,
+ * and rebuilds that load a fresh state while the current one keeps serving, then replay the changes applied
+ * meanwhile before swapping it in.
+ * <p>
+ * A delete leaves a tombstone so that an update committed before it, but applied after it, cannot resurrect
+ * the expense (ids are never reused). Every hand-off takes a ticket that stays in flight until its
+ * transaction ends, and a tombstone is dropped once every ticket taken before the delete was applied has
+ * ended: no late update can arrive after that. Tombstones are therefore bounded by the deletes that overlap
+ * a running transaction, not by every delete ever made, and rebuilds need not carry them.
+ *
+ * @param <D> snapshot of one expense, as the state stores it
+ * @param <S> the state queries run against
+ */
+final class ExpenseProjection<D, S extends ExpenseProjection.State<D>> {
+
+    /** Only called under the write lock, or before the state is published. */
+    interface State<D> {
+
+        // Ignores a snapshot whose version is not newer than the one held
+        void upsert(D document);
+
+        void delete(Long id);
+
+        int live();
+    }
+
+    // A committed change; document is null for a delete
+    private record Change<D>(Long id, D document) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // not synchronized: see BudgetOverviewCache
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Supplier<S> emptyState;
+    private final AtomicLong tickets = new AtomicLong();
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>(); // tickets of open hand-offs
+    private final Map<Long, Long> tombstones = new HashMap<>(); // deleted id -> last ticket taken when applied
+    private S state;
+    private List<Change<D>> changesDuringRebuild;
+
+    ExpenseProjection(Supplier<S> emptyState) {
+        this.emptyState = emptyState;
+        this.state = emptyState.get();
+    }
+
+    // Snapshots are taken after commit, when the flush has bumped each expense's version.
+    void index(Collection<Expense> expenses, Function<Expense, D> snapshot) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        List<Expense> changed = List.copyOf(expenses);
+        handOver(() -> changed.stream().map(expense -> new Change<>(expense.getId(), snapshot.apply(expense))).toList());
+    }
+
+    void remove(Collection<Long> expenseIds) {
+        if (expenseIds.isEmpty()) {
+            return;
+        }
+        List<Change<D>> removals = expenseIds.stream().map(id -> new Change<D>(id, null)).toList();
+        handOver(() -> removals);
+    }
+
+    // The ticket is taken before commit, so a change committed before a delete is applied is still in flight then
+    private void handOver(Supplier<List<Change<D>>> changes) {
+        Long ticket = tickets.incrementAndGet();
+        inFlight.add(ticket);
+        AfterCommit.run(() -> apply(changes.get()), () -> inFlight.remove(ticket));
+    }
+
+    int rebuild(Stream<D> documents) {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            S fresh = emptyState.get();
+            try {
+                documents.forEach(fresh::upsert);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> apply(fresh, change));
+                changesDuringRebuild = null;
+                state = fresh;
+                return fresh.live();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Runs the query under the read lock
+    <R> R read(Function<? super S, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        return read(State::live);
+    }
+
+    private void apply(List<Change<D>> changes) {
+        lock.writeLock().lock();
+        try {
+            if (!tombstones.isEmpty()) {
+                Long oldest = inFlight.ceiling(Long.MIN_VALUE);
+                tombstones.values().removeIf(lastTicket -> oldest == null || lastTicket < oldest);
+            }
+            for (Change<D> change : changes) {
+                if (change.document() == null) {
+                    tombstones.put(change.id(), tickets.get());
+                } else if (tombstones.containsKey(change.id())) {
+                    continue;
+                }
+                apply(state, change);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <D> void apply(State<D> target, Change<D> change) {
+        if (change.document() == null) {
+            target.delete(change.id());
+        } else {
+            target.upsert(change.document());
+        }
+    }
+}
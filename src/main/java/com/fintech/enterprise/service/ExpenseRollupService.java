@@ -0,0 +1,36 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.service.dto.ExpenseRollupDTO;
+import com.fintech.enterprise.service.dto.RollupMismatchDTO;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains and serves the per (department, category, status, month) expense rollups.
+ * The record methods must run inside the transaction that changes the expenses.
+ */
+public interface ExpenseRollupService {
+
+    // --- Incremental Maintenance ---
+    // All are pre-aggregated per bucket, so a batch costs a few statements per bucket rather than per expense,
+    // and touch their buckets in one fixed key order.
+    void recordAdded(Collection<RollupContribution> contributions);
+    void recordRemoved(Collection<RollupContribution> contributions);
+
+    // Moves an expense from its previous contribution to its current state; no-op if nothing relevant changed.
+    void recordChanged(RollupContribution before, Expense after);
+    // Same for a batch: takes out every before contribution and adds every after one, in a single pass.
+    void recordChanged(Collection<RollupContribution> before, Collection<RollupContribution> after);
+
+    // --- Insights ---
+    List<ExpenseRollupDTO> findMonthlyRollups(YearMonth month);
+    Optional<Expense> findBiggestExpense(YearMonth month);
+
+    // --- Administration ---
+    int rebuild();
+    List<RollupMismatchDTO> checkConsistency();
+}
@@ -0,0 +1,235 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseRollup;
+import com.fintech.enterprise.model.ExpenseRollupKey;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.ExpenseRollupRepository;
+import com.fintech.enterprise.repository.ExpenseRollupRepository.MonthlyExpenseAggregate;
+import com.fintech.enterprise.service.dto.ExpenseRollupDTO;
+import com.fintech.enterprise.service.dto.RollupMismatchDTO;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+@Service
+public class ExpenseRollupServiceImpl implements ExpenseRollupService {
+
+    private final ExpenseRollupRepository rollupRepository;
+    private final ExpenseRepository expenseRepository;
+
+    public ExpenseRollupServiceImpl(ExpenseRollupRepository rollupRepository, ExpenseRepository expenseRepository) {
+        this.rollupRepository = rollupRepository;
+        this.expenseRepository = expenseRepository;
+    }
+
+    // --- Incremental Maintenance ---
+
+    // Every transaction updates its buckets in this order, whatever mix of additions and removals it makes,
+    // so two writers never lock the same pair of bucket rows in opposite orders and deadlock.
+    private static final Comparator<ExpenseRollupKey> BUCKET_ORDER = Comparator
+            .comparing(ExpenseRollupKey::getDepartmentId)
+            .thenComparing(ExpenseRollupKey::getPeriod)
+            .thenComparing(ExpenseRollupKey::getCategory)
+            .thenComparing(ExpenseRollupKey::getStatus);
+
+    @Override
+    @Transactional
+    public void recordAdded(Collection<RollupContribution> contributions) {
+        update(aggregate(contributions), aggregate(List.of()));
+    }
+
+    @Override
+    @Transactional
+    public void recordRemoved(Collection<RollupContribution> contributions) {
+        update(aggregate(List.of()), aggregate(contributions));
+    }
+
+    @Override
+    @Transactional
+    public void recordChanged(RollupContribution before, Expense after) {
+        RollupContribution current = RollupContribution.of(after);
+        if (current.equals(before)) {
+            return;
+        }
+        recordChanged(List.of(before), List.of(current));
+    }
+
+    @Override
+    @Transactional
+    public void recordChanged(Collection<RollupContribution> before, Collection<RollupContribution> after) {
+        update(aggregate(after), aggregate(before));
+    }
+
+    // Buckets in BUCKET_ORDER; one that both gains and loses expenses adds before it subtracts
+    private void update(Map<ExpenseRollupKey, BucketDelta> added, Map<ExpenseRollupKey, BucketDelta> removed) {
+        SortedSet<ExpenseRollupKey> keys = new TreeSet<>(BUCKET_ORDER);
+        keys.addAll(added.keySet());
+        keys.addAll(removed.keySet());
+        for (ExpenseRollupKey key : keys) {
+            BucketDelta gained = added.get(key);
+            if (gained != null) {
+                add(key, gained);
+            }
+            BucketDelta lost = removed.get(key);
+            if (lost != null) {
+                subtract(key, lost);
+            }
+        }
+    }
+
+    private void add(ExpenseRollupKey key, BucketDelta delta) {
+        rollupRepository.ensureBucket(key.getDepartmentId(), key.getCategory().name(),
+                key.getStatus().name(), key.getPeriod());
+        rollupRepository.addToBucket(key.getDepartmentId(), key.getCategory().name(), key.getStatus().name(),
+                key.getPeriod(), delta.count, delta.total.toBigDecimal(), delta.maxAmount.toBigDecimal(), delta.topExpenseId);
+    }
+
+    private void subtract(ExpenseRollupKey key, BucketDelta delta) {
+        String category = key.getCategory().name();
+        String status = key.getStatus().name();
+
+        rollupRepository.subtractFromBucket(key.getDepartmentId(), category, status, key.getPeriod(),
+                delta.count, delta.total.toBigDecimal());
+
+        // The max is not invertible: if a removed expense held it, look up the next largest in the bucket.
+        if (rollupRepository.clearTopIfHeldByAny(key.getDepartmentId(), category, status, key.getPeriod(),
+                delta.expenseIds) > 0) {
+            YearMonth month = RollupContribution.monthOf(key.getPeriod());
+            expenseRepository.findTopExpenseInBucket(key.getDepartmentId(), key.getCategory(), key.getStatus(),
+                            month.atDay(1), month.plusMonths(1).atDay(1))
+                    .ifPresent(top -> rollupRepository.addToBucket(key.getDepartmentId(), category, status,
+                            key.getPeriod(), 0, BigDecimal.ZERO, top.getAmount().toBigDecimal(), top.getId()));
+        }
+    }
+
+    // Pre-aggregated per bucket, so a batch costs a few statements per bucket, not per expense
+    private static Map<ExpenseRollupKey, BucketDelta> aggregate(Collection<RollupContribution> contributions) {
+        Map<ExpenseRollupKey, BucketDelta> deltas = new HashMap<>();
+        for (RollupContribution contribution : contributions) {
+            deltas.computeIfAbsent(contribution.key(), key -> new BucketDelta()).add(contribution);
+        }
+        return deltas;
+    }
+
+    // --- Insights ---
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExpenseRollupDTO> findMonthlyRollups(YearMonth month) {
+        return rollupRepository.findByIdPeriod(RollupContribution.periodOf(month)).stream()
+                .filter(rollup -> rollup.getExpenseCount() > 0)
+                .map(rollup -> new ExpenseRollupDTO(
+                        rollup.getId().getDepartmentId(),
+                        rollup.getId().getCategory(),
+                        rollup.getId().getStatus(),
+                        month,
+                        rollup.getExpenseCount(),
+                        rollup.getTotalAmount(),
+                        rollup.getMaxAmount(),
+                        rollup.getTopExpenseId()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Expense> findBiggestExpense(YearMonth month) {
+        return rollupRepository.findByIdPeriod(RollupContribution.periodOf(month)).stream()
+                .filter(rollup -> rollup.getMaxAmount() != null)
+                .max(Comparator.comparing(ExpenseRollup::getMaxAmount)
+                        .thenComparing(ExpenseRollup::getTopExpenseId, Comparator.reverseOrder()))
+                .flatMap(rollup -> expenseRepository.findById(rollup.getTopExpenseId()));
+    }
+
+    // --- Administration ---
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        // Two statements whatever the number of buckets: aggregation and top-expense ranking run in the database
+        rollupRepository.deleteAllInBatch();
+        return rollupRepository.insertAggregatedFromExpenses();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RollupMismatchDTO> checkConsistency() {
+        Map<ExpenseRollupKey, ExpenseRollup> stored = new HashMap<>();
+        rollupRepository.findAll().forEach(rollup -> stored.put(rollup.getId(), rollup));
+
+        List<RollupMismatchDTO> mismatches = new ArrayList<>();
+        for (MonthlyExpenseAggregate aggregate : rollupRepository.aggregateExpensesByMonth()) {
+            ExpenseRollupKey key = new ExpenseRollupKey(aggregate.getDepartmentId(), aggregate.getCategory(),
+                    aggregate.getStatus(), aggregate.getPeriod());
+            ExpenseRollup actual = stored.remove(key);
+            Money expectedTotal = money(aggregate.getTotalAmount());
+            Money expectedMax = money(aggregate.getMaxAmount());
+            if (actual == null
+                    || actual.getExpenseCount() != aggregate.getExpenseCount()
+                    || !Objects.equals(actual.getTotalAmount(), expectedTotal)
+                    || !Objects.equals(actual.getMaxAmount(), expectedMax)
+                    || !Objects.equals(actual.getTopExpenseId(), aggregate.getTopExpenseId())) {
+                mismatches.add(mismatch(key, aggregate.getExpenseCount(), expectedTotal, expectedMax,
+                        aggregate.getTopExpenseId(), actual));
+            }
+        }
+        // Whatever is left has no raw rows behind it; only emptied buckets are expected here.
+        stored.forEach((key, actual) -> {
+            if (actual.getExpenseCount() != 0 || actual.getTotalAmount().signum() != 0) {
+                mismatches.add(mismatch(key, 0, Money.ZERO, null, null, actual));
+            }
+        });
+        return mismatches;
+    }
+
+    private static RollupMismatchDTO mismatch(ExpenseRollupKey key, long expectedCount, Money expectedTotal,
+                                              Money expectedMax, Long expectedTopExpenseId, ExpenseRollup actual) {
+        return new RollupMismatchDTO(
+                key.getDepartmentId(), key.getCategory(), key.getStatus(), RollupContribution.monthOf(key.getPeriod()),
+                expectedCount,
+                actual == null ? 0 : actual.getExpenseCount(),
+                expectedTotal,
+                actual == null ? null : actual.getTotalAmount(),
+                expectedMax,
+                actual == null ? null : actual.getMaxAmount(),
+                expectedTopExpenseId,
+                actual == null ? null : actual.getTopExpenseId());
+    }
+
+
+    private static Money money(BigDecimal amount) {
+        return Money.of(amount);
+    }
+
+    private static final class BucketDelta {
+        private long count;
+        private Money total = Money.ZERO;
+        private Money maxAmount;
+        private Long topExpenseId;
+        private final List<Long> expenseIds = new ArrayList<>();
+
+        void add(RollupContribution contribution) {
+            expenseIds.add(contribution.expenseId());
+            count++;
+            total = total.plus(contribution.amount());
+            int cmp = maxAmount == null ? 1 : contribution.amount().compareTo(maxAmount);
+            if (cmp > 0 || (cmp == 0 && contribution.expenseId() < topExpenseId)) {
+                maxAmount = contribution.amount();
+                topExpenseId = contribution.expenseId();
+            }
+        }
+    }
+}
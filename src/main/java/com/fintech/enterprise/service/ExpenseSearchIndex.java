@@ -0,0 +1,545 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over expense titles and descriptions, ranked with BM25 (title words weigh double).
+ * Every query word must match; a word ending in {@code *} matches any indexed word starting with it.
+ * <p>
+ * Writers hand over the expenses they changed ({@link #index}) or deleted ({@link #remove}); the index is
+ * updated after commit, and an update that arrives out of order (lower {@code @Version}) is ignored
+ * (see {@link ExpenseProjection}).
+ * Replaced and deleted documents leave dead postings behind that are skipped at query time and dropped
+ * by an occasional in-place compaction.
+ */
+@Component
+public class ExpenseSearchIndex {
+
+    public static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final float TITLE_WEIGHT = 2f;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_MATCH_BOOST = 0.8f; // "trav*" ranks an exact "trav" above "travel"
+    private static final int MIN_DEAD_FOR_COMPACTION = 10_000;
+    private static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    /** The searchable part of one expense, captured after its transaction committed. */
+    public record Document(Long id, long version, Long departmentId, ExpenseCategory category,
+                           ExpenseStatus status, String title, String description) {
+
+        public static Document of(Expense expense) {
+            return new Document(expense.getId(), expense.getVersion(), expense.getDepartment().getId(),
+                    expense.getCategory(), expense.getStatus(), expense.getTitle(), expense.getDescription());
+        }
+    }
+
+    public record Hit(Long expenseId, float score) {
+    }
+
+    public record Hits(int total, List<Hit> top) {
+    }
+
+    private final ExpenseProjection<Document, State> projection = new ExpenseProjection<>(State::new);
+
+    // --- Maintenance ---
+
+    public void index(Collection<Expense> expenses) {
+        projection.index(expenses, Document::of);
+    }
+
+    public void remove(Collection<Long> expenseIds) {
+        projection.remove(expenseIds);
+    }
+
+    // Loads a fresh index from the given documents while the current one keeps serving; returns its size.
+    public int rebuild(Stream<Document> documents) {
+        return projection.rebuild(documents);
+    }
+
+    public int size() {
+        return projection.size();
+    }
+
+    // --- Search ---
+
+    // Null filters match everything. Throws IllegalArgumentException when the text has no searchable word.
+    public Hits search(String text, Long departmentId, ExpenseCategory category, ExpenseStatus status, int limit) {
+        Map<String, Boolean> words = parseQuery(text);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain at least one word.");
+        }
+
+        return projection.read(state -> state.search(words, departmentId, category, status, limit));
+    }
+
+    // Word -> prefix flag, in query order. Only a trailing '*' makes a prefix; "e-mail*" is "e" AND "mail*".
+    static Map<String, Boolean> parseQuery(String text) {
+        Map<String, Boolean> words = new LinkedHashMap<>();
+        if (text == null) {
+            return words;
+        }
+        for (String piece : text.trim().split("\\s+")) {
+            List<String> tokens = tokenize(piece);
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1 && piece.endsWith("*");
+                if (prefix && tokens.get(i).length() < MIN_PREFIX_LENGTH) {
+                    throw new IllegalArgumentException(
+                            "Prefix searches need at least " + MIN_PREFIX_LENGTH + " characters before '*'.");
+                }
+                words.merge(tokens.get(i), prefix, (a, b) -> a && b);
+            }
+        }
+        return words;
+    }
+
+    // Lower-cased runs of letters and digits
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                current.appendCodePoint(codePoint);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    // --- Index State ---
+
+    // Postings of one word, in ascending ordinal order (documents only ever get appended)
+    private static final class Postings {
+        final String word;
+        int[] ordinals = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+
+        Postings(String word) {
+            this.word = word;
+        }
+
+        void add(int ordinal, float frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+
+    private record Entry(Long id, long version, Long departmentId, ExpenseCategory category, ExpenseStatus status,
+                         float length, Postings[] postings, float[] frequencies) {
+    }
+
+    private static final class State implements ExpenseProjection.State<Document> {
+        final TreeMap<String, Postings> dictionary = new TreeMap<>();
+        final Map<Long, Integer> ordinalsById = new HashMap<>();
+        Entry[] entries = new Entry[1024];
+        float[] lengths = new float[1024]; // entries[i].length(), NaN once dead; kept flat for the scoring loops
+        int nextOrdinal;
+        int live;
+        double totalLength;
+
+        @Override
+        public int live() {
+            return live;
+        }
+
+        @Override
+        public void upsert(Document document) {
+            Integer existing = ordinalsById.get(document.id());
+            if (existing != null) {
+                if (entries[existing].version() >= document.version()) {
+                    return;
+                }
+                kill(existing);
+            }
+
+            Map<String, Float> frequencies = new HashMap<>();
+            for (String word : tokenize(document.title())) {
+                frequencies.merge(word, TITLE_WEIGHT, Float::sum);
+            }
+            for (String word : tokenize(document.description())) {
+                frequencies.merge(word, 1f, Float::sum);
+            }
+            Postings[] postings = new Postings[frequencies.size()];
+            float[] weights = new float[frequencies.size()];
+            float length = 0;
+            int i = 0;
+            for (Map.Entry<String, Float> frequency : frequencies.entrySet()) {
+                postings[i] = dictionary.computeIfAbsent(frequency.getKey(), Postings::new);
+                weights[i] = frequency.getValue();
+                length += weights[i];
+                i++;
+            }
+            append(new Entry(document.id(), document.version(), document.departmentId(), document.category(),
+                    document.status(), length, postings, weights));
+            maybeCompact();
+        }
+
+        @Override
+        public void delete(Long id) {
+            Integer existing = ordinalsById.get(id);
+            if (existing != null) {
+                kill(existing);
+                maybeCompact();
+            }
+        }
+
+        private void append(Entry entry) {
+            if (nextOrdinal == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length + (entries.length >> 1));
+                lengths = Arrays.copyOf(lengths, entries.length);
+            }
+            int ordinal = nextOrdinal++;
+            entries[ordinal] = entry;
+            lengths[ordinal] = entry.length();
+            for (int i = 0; i < entry.postings().length; i++) {
+                entry.postings()[i].add(ordinal, entry.frequencies()[i]);
+            }
+            ordinalsById.put(entry.id(), ordinal);
+            live++;
+            totalLength += entry.length();
+        }
+
+        private void kill(int ordinal) {
+            Entry entry = entries[ordinal];
+            entries[ordinal] = null;
+            lengths[ordinal] = Float.NaN;
+            ordinalsById.remove(entry.id());
+            live--;
+            totalLength -= entry.length();
+        }
+
+        // Renumbers the live documents in their current order and rewrites every postings list without the dead ones
+        private void maybeCompact() {
+            int dead = nextOrdinal - live;
+            if (dead < MIN_DEAD_FOR_COMPACTION || dead < live) {
+                return;
+            }
+            Entry[] liveEntries = new Entry[Math.max(1024, live + (live >> 1))];
+            int count = 0;
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                if (entries[ordinal] != null) {
+                    liveEntries[count++] = entries[ordinal];
+                }
+            }
+            dictionary.values().forEach(postings -> postings.size = 0);
+            entries = liveEntries;
+            lengths = new float[liveEntries.length];
+            nextOrdinal = 0;
+            live = 0;
+            totalLength = 0;
+            ordinalsById.clear();
+            for (int i = 0; i < count; i++) {
+                append(entries[i]);
+            }
+            dictionary.values().removeIf(postings -> postings.size == 0);
+        }
+
+        Hits search(Map<String, Boolean> words, Long departmentId, ExpenseCategory category,
+                    ExpenseStatus status, int limit) {
+            if (live == 0) {
+                return new Hits(0, List.of());
+            }
+            float averageLength = (float) (totalLength / live);
+
+            // One cursor per query word; a prefix word is the union of every word it expands to
+            List<Cursor> cursors = new ArrayList<>(words.size());
+            for (Map.Entry<String, Boolean> word : words.entrySet()) {
+                Cursor cursor = word.getValue() ? prefixCursor(word.getKey()) : exactCursor(word.getKey());
+                if (cursor == null) {
+                    return new Hits(0, List.of()); // a word nothing contains: no document can match all of them
+                }
+                cursors.add(cursor);
+            }
+            cursors.sort(Comparator.comparingLong(Cursor::cost)); // the rarest word drives the intersection
+
+            Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::score).thenComparing(Hit::expenseId);
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, worstFirst);
+            int total = 0;
+
+            Cursor lead = cursors.get(0);
+            int ordinal = lead.advance(0);
+            candidates:
+            while (ordinal != NO_MORE_DOCS) {
+                for (int i = 1; i < cursors.size(); i++) {
+                    int next = cursors.get(i).advance(ordinal);
+                    if (next != ordinal) {
+                        ordinal = lead.advance(next);
+                        continue candidates;
+                    }
+                }
+
+                Entry entry = entries[ordinal];
+                if (entry != null
+                        && (departmentId == null || departmentId.equals(entry.departmentId()))
+                        && (category == null || category == entry.category())
+                        && (status == null || status == entry.status())) {
+                    float norm = norm(ordinal, averageLength);
+                    float score = 0;
+                    for (Cursor cursor : cursors) {
+                        score += cursor.score(norm);
+                    }
+                    total++;
+                    if (top.size() < limit) {
+                        top.offer(new Hit(entry.id(), score));
+                    } else if (beats(score, entry.id(), top.peek())) {
+                        top.poll();
+                        top.offer(new Hit(entry.id(), score));
+                    }
+                }
+                ordinal = lead.advance(ordinal + 1);
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(worstFirst.reversed());
+            return new Hits(total, ranked);
+        }
+
+        private static boolean beats(float score, Long expenseId, Hit worst) {
+            return score > worst.score() || score == worst.score() && expenseId > worst.expenseId();
+        }
+
+        private Cursor exactCursor(String word) {
+            Postings postings = dictionary.get(word);
+            return postings == null || postings.size == 0 ? null : new TermCursor(postings, idf(postings), 1f);
+        }
+
+        private Cursor prefixCursor(String prefix) {
+            List<TermCursor> expansions = new ArrayList<>();
+            long cost = 0;
+            for (Postings postings : dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                if (postings.size > 0) {
+                    float boost = postings.word.length() == prefix.length() ? 1f : PREFIX_MATCH_BOOST;
+                    expansions.add(new TermCursor(postings, idf(postings), boost));
+                    cost += postings.size;
+                }
+            }
+            if (expansions.isEmpty()) {
+                return null;
+            }
+            return expansions.size() == 1 ? expansions.get(0) : union(expansions, cost);
+        }
+
+        // Merges the expansions of a prefix once, with their scores already summed per document, so the
+        // intersection walks one list instead of dozens. Sorting is used when the union is small compared
+        // to the index; otherwise a dense per-ordinal array is cheaper.
+        private Cursor union(List<TermCursor> expansions, long cost) {
+            float averageLength = (float) (totalLength / live);
+            if (cost < nextOrdinal / 16) {
+                long[] packed = new long[(int) cost];
+                int n = 0;
+                for (TermCursor expansion : expansions) {
+                    Postings postings = expansion.postings;
+                    for (int i = 0; i < postings.size; i++) {
+                        float score = expansion.scoreAt(i, norm(postings.ordinals[i], averageLength));
+                        packed[n++] = (long) postings.ordinals[i] << 32 | Float.floatToRawIntBits(score) & 0xFFFFFFFFL;
+                    }
+                }
+                Arrays.sort(packed); // ordinal in the high bits, so this orders by ordinal
+                int[] ordinals = new int[n];
+                float[] scores = new float[n];
+                int size = 0;
+                for (int i = 0; i < n; i++) {
+                    int ordinal = (int) (packed[i] >>> 32);
+                    float score = Float.intBitsToFloat((int) packed[i]);
+                    if (size > 0 && ordinals[size - 1] == ordinal) {
+                        scores[size - 1] += score;
+                    } else {
+                        ordinals[size] = ordinal;
+                        scores[size++] = score;
+                    }
+                }
+                return new MergedCursor(ordinals, scores, size);
+            }
+
+            float[] scores = new float[nextOrdinal];
+            for (TermCursor expansion : expansions) {
+                Postings postings = expansion.postings;
+                for (int i = 0; i < postings.size; i++) {
+                    int ordinal = postings.ordinals[i];
+                    scores[ordinal] += expansion.scoreAt(i, norm(ordinal, averageLength));
+                }
+            }
+            return new DenseCursor(scores, cost);
+        }
+
+        // Dead documents score 0 here; the main loop skips them anyway
+        private float norm(int ordinal, float averageLength) {
+            float length = lengths[ordinal];
+            return Float.isNaN(length) ? Float.POSITIVE_INFINITY : K1 * (1 - B + B * length / averageLength);
+        }
+
+        // Postings still include dead documents until the next compaction; close enough for ranking
+        private float idf(Postings postings) {
+            int documentFrequency = Math.min(postings.size, live);
+            return (float) Math.log(1 + (live - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        private interface Cursor {
+            // Moves to the first document >= target (never backwards) and returns it, or NO_MORE_DOCS
+            int advance(int target);
+
+            float score(float norm);
+
+            long cost();
+        }
+
+        private static final class TermCursor implements Cursor {
+            private final Postings postings;
+            private final float weight;
+            private int position = -1;
+
+            TermCursor(Postings postings, float idf, float boost) {
+                this.postings = postings;
+                this.weight = idf * boost * (K1 + 1);
+            }
+
+            int current() {
+                return position < 0 ? -1 : position >= postings.size ? NO_MORE_DOCS : postings.ordinals[position];
+            }
+
+            @Override
+            public int advance(int target) {
+                int current = current();
+                if (current >= target) {
+                    return current;
+                }
+                // Gallop forward, then binary search the bracketed range
+                int low = position + 1;
+                int step = 1;
+                int high = low;
+                while (high < postings.size && postings.ordinals[high] < target) {
+                    low = high + 1;
+                    high += step;
+                    step <<= 1;
+                }
+                high = Math.min(high, postings.size - 1);
+                while (low <= high) {
+                    int mid = (low + high) >>> 1;
+                    if (postings.ordinals[mid] < target) {
+                        low = mid + 1;
+                    } else {
+                        high = mid - 1;
+                    }
+                }
+                position = low;
+                return current();
+            }
+
+            @Override
+            public float score(float norm) {
+                return scoreAt(position, norm);
+            }
+
+            float scoreAt(int index, float norm) {
+                float frequency = postings.frequencies[index];
+                return weight * frequency / (frequency + norm);
+            }
+
+            @Override
+            public long cost() {
+                return postings.size;
+            }
+        }
+
+        // Pre-scored prefix union over every ordinal (see union()); dead and unmatched documents score 0
+        private static final class DenseCursor implements Cursor {
+            private final float[] scores;
+            private final long cost;
+            private int current = -1;
+
+            DenseCursor(float[] scores, long cost) {
+                this.scores = scores;
+                this.cost = cost;
+            }
+
+            @Override
+            public int advance(int target) {
+                if (current >= target) {
+                    return current;
+                }
+                int ordinal = target;
+                while (ordinal < scores.length && scores[ordinal] == 0) {
+                    ordinal++;
+                }
+                current = ordinal < scores.length ? ordinal : NO_MORE_DOCS;
+                return current;
+            }
+
+            @Override
+            public float score(float norm) {
+                return scores[current];
+            }
+
+            @Override
+            public long cost() {
+                return cost;
+            }
+        }
+
+        // Pre-scored postings of a prefix union (see union()); the norm is already applied
+        private static final class MergedCursor implements Cursor {
+            private final int[] ordinals;
+            private final float[] scores;
+            private final int size;
+            private int position = -1;
+
+            MergedCursor(int[] ordinals, float[] scores, int size) {
+                this.ordinals = ordinals;
+                this.scores = scores;
+                this.size = size;
+            }
+
+            @Override
+            public int advance(int target) {
+                if (position >= 0 && (position >= size || ordinals[position] >= target)) {
+                    return position >= size ? NO_MORE_DOCS : ordinals[position];
+                }
+                int found = Arrays.binarySearch(ordinals, position + 1, size, target);
+                position = found >= 0 ? found : -found - 1;
+                return position >= size ? NO_MORE_DOCS : ordinals[position];
+            }
+
+            @Override
+            public float score(float norm) {
+                return scores[position];
+            }
+
+            @Override
+            public long cost() {
+                return size;
+            }
+        }
+    }
+}
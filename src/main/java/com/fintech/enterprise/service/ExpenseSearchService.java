@@ -0,0 +1,18 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.service.dto.ExpenseSearchResultDTO;
+
+/**
+ * Ranked full-text search over expense titles and descriptions, served from {@link ExpenseSearchIndex}.
+ */
+public interface ExpenseSearchService {
+
+    // Every word must match; "word*" matches by prefix. Filters are optional, a null limit uses the default.
+    ExpenseSearchResultDTO search(String text, Long departmentId, ExpenseCategory category,
+                                  ExpenseStatus status, Integer limit);
+
+    // Reloads the index from the database; returns the number of indexed expenses
+    int rebuildIndex();
+}
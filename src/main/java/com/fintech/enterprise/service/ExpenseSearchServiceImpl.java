@@ -0,0 +1,92 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.config.MetricsConfig;
+import com.fintech.enterprise.config.ReadRouting;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.service.dto.ExpenseSearchHitDTO;
+import com.fintech.enterprise.service.dto.ExpenseSearchResultDTO;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ExpenseSearchServiceImpl implements ExpenseSearchService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String LOAD_QUERY =
+            "SELECT id, version, department_id, category, status, title, description FROM expense";
+
+    private final ExpenseSearchIndex searchIndex;
+    private final ExpenseRepository expenseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExpenseSearchServiceImpl(ExpenseSearchIndex searchIndex, ExpenseRepository expenseRepository,
+                                    DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.searchIndex = searchIndex;
+        this.expenseRepository = expenseRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        // PostgreSQL only streams with a server-side cursor when auto-commit is off (same as the export)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public ExpenseSearchResultDTO search(String text, Long departmentId, ExpenseCategory category,
+                                         ExpenseStatus status, Integer limit) {
+        int maxHits = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        ExpenseSearchIndex.Hits hits = searchIndex.search(text, departmentId, category, status, maxHits);
+        if (hits.top().isEmpty()) {
+            return new ExpenseSearchResultDTO(hits.total(), List.of());
+        }
+
+        // One query for the page of hits; an expense deleted since the lookup is simply left out
+        Map<Long, Expense> expenses = expenseRepository.findAllById(
+                        hits.top().stream().map(ExpenseSearchIndex.Hit::expenseId).toList()).stream()
+                .collect(Collectors.toMap(Expense::getId, Function.identity()));
+        List<ExpenseSearchHitDTO> results = new ArrayList<>(hits.top().size());
+        for (ExpenseSearchIndex.Hit hit : hits.top()) {
+            Expense expense = expenses.get(hit.expenseId());
+            if (expense != null) {
+                results.add(new ExpenseSearchHitDTO(hit.score(), expense));
+            }
+        }
+        return new ExpenseSearchResultDTO(hits.total(), results);
+    }
+
+    @Override
+    public int rebuildIndex() {
+        // From the primary: changes committed before the load starts are not replayed onto it
+        return ReadRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            try (Stream<ExpenseSearchIndex.Document> documents = jdbcTemplate.queryForStream(LOAD_QUERY,
+                    (rs, rowNum) -> new ExpenseSearchIndex.Document(
+                            rs.getLong("id"),
+                            rs.getLong("version"),
+                            rs.getLong("department_id"),
+                            ExpenseCategory.valueOf(rs.getString("category")),
+                            ExpenseStatus.valueOf(rs.getString("status")),
+                            rs.getString("title"),
+                            rs.getString("description")))) {
+                return searchIndex.rebuild(documents);
+            }
+        }));
+    }
+}
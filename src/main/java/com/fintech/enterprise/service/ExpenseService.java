@@ -2,6 +2,11 @@ package com.fintech.enterprise.service;
 
 import com.fintech.enterprise.model.Expense;
 import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.service.dto.BulkReviewResultDTO;
+import com.fintech.enterprise.service.dto.BulkSubmitResultDTO;
+import com.fintech.enterprise.service.dto.ExpensePageDTO;
+import com.fintech.enterprise.service.dto.ExpenseQueryFilter;
 import com.fintech.enterprise.service.dto.ExpenseRequestDTO;
 
 import java.util.List;
@@ -14,15 +19,19 @@ public interface ExpenseService {
 
     // --- Core CRUD ---
     Expense createExpense(ExpenseRequestDTO expenseDto);
+    BulkSubmitResultDTO createExpenses(List<ExpenseRequestDTO> expenseDtos); // one transaction, per-item results
     Expense updateExpense(Long id, Expense expenseDetails);
     void deleteExpense(Long id);
 
     // --- Read Operations ---
+    // List reads are keyset-paginated on (dateSubmitted DESC, id DESC); pass the previous page's
+    // nextCursor to continue. A null size uses the default page size, larger sizes are capped.
     Optional<Expense> findExpenseById(Long id);
-    List<Expense> findAllExpenses();
-    List<Expense> findExpensesByDepartment(Long departmentId);
-    List<Expense> findExpensesByUser(Long userId);
-    List<Expense> findExpensesByCategory(ExpenseCategory category);
+    ExpensePageDTO findAllExpenses(String cursor, Integer size);
+    ExpensePageDTO findExpensesByDepartment(Long departmentId, String cursor, Integer size);
+    ExpensePageDTO findExpensesByUser(Long userId, String cursor, Integer size);
+    ExpensePageDTO findExpensesByCategory(ExpenseCategory category, String cursor, Integer size);
+    ExpensePageDTO queryExpenses(ExpenseQueryFilter filter, String cursor, Integer size); // all set criteria must match
 
     // --- Financial Insights ---
     Optional<Expense> getBiggestExpenseThisMonth();
@@ -30,4 +39,5 @@ public interface ExpenseService {
     // --- Approval Workflow ---
     Expense approveExpense(Long expenseId);
     Expense denyExpense(Long expenseId, Long reviewerId);
+    BulkReviewResultDTO reviewExpenses(List<Long> expenseIds, ExpenseStatus decision); // one transaction, per-id results
 }
\ No newline at end of file
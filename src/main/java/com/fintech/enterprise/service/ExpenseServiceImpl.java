@@ -1,41 +1,108 @@
 package com.fintech.enterprise.service;
 
+import com.fintech.enterprise.config.MetricsConfig;
 import com.fintech.enterprise.model.Expense;
 import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseEventType;
 import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
 import com.fintech.enterprise.repository.DepartmentRepository; // ADDED: New import for Department Repository
 import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.ExpenseSpecifications;
 import com.fintech.enterprise.service.DepartmentService;
 import com.fintech.enterprise.service.UserService;
+import com.fintech.enterprise.service.dto.BulkItemResultDTO;
+import com.fintech.enterprise.service.dto.BulkReviewItemDTO;
+import com.fintech.enterprise.service.dto.BulkReviewResultDTO;
+import com.fintech.enterprise.service.dto.BulkSubmitResultDTO;
+import com.fintech.enterprise.service.dto.ExpensePageDTO;
+import com.fintech.enterprise.service.dto.ExpenseQueryFilter;
 import com.fintech.enterprise.service.dto.ExpenseRequestDTO;
 import com.fintech.enterprise.model.User;
 import com.fintech.enterprise.model.Department;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ExpenseServiceImpl implements ExpenseService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final Sort PAGE_ORDER = Sort.by(Sort.Order.desc("dateSubmitted"), Sort.Order.desc("id"));
+
     private final ExpenseRepository expenseRepository;
     private final UserService userService;
     private final DepartmentService departmentService;
     private final DepartmentRepository departmentRepository; // ADDED: New field for DepartmentRepository
+    private final ExpenseRollupService rollupService;
+    private final BudgetOverviewCache budgetOverviewCache;
+    private final ConcurrencyRetry concurrencyRetry;
+    private final ExpenseSearchIndex searchIndex;
+    private final ExpenseAnalyticsStore analyticsStore;
+    private final ExpenseEventOutbox eventOutbox;
+    private final ExpenseChangeWatermark changeWatermark;
+    private final EntityCache<Long, Department> departmentCache;
+    private final int maxBulkItems;
+
+    private final Counter submittedCounter;
+    private final Counter approvedCounter;
+    private final Counter deniedCounter;
 
     // Constructor Injection (Best practice)
     public ExpenseServiceImpl(
             ExpenseRepository expenseRepository,
             UserService userService,
             DepartmentService departmentService,
-            DepartmentRepository departmentRepository) { // ADDED: Inject DepartmentRepository
+            DepartmentRepository departmentRepository, // ADDED: Inject DepartmentRepository
+            ExpenseRollupService rollupService,
+            BudgetOverviewCache budgetOverviewCache,
+            ConcurrencyRetry concurrencyRetry,
+            ExpenseSearchIndex searchIndex,
+            ExpenseAnalyticsStore analyticsStore,
+            ExpenseEventOutbox eventOutbox,
+            ExpenseChangeWatermark changeWatermark,
+            EntityCache<Long, Department> departmentCache,
+            @Value("${expense.bulk.max-items:5000}") int maxBulkItems,
+            MeterRegistry meterRegistry) {
 
         this.expenseRepository = expenseRepository;
         this.userService = userService;
         this.departmentService = departmentService;
         this.departmentRepository = departmentRepository; // Initialize the new field
+        this.rollupService = rollupService;
+        this.budgetOverviewCache = budgetOverviewCache;
+        this.concurrencyRetry = concurrencyRetry;
+        this.searchIndex = searchIndex;
+        this.analyticsStore = analyticsStore;
+        this.eventOutbox = eventOutbox;
+        this.changeWatermark = changeWatermark;
+        this.departmentCache = departmentCache;
+        this.maxBulkItems = maxBulkItems;
+
+        this.submittedCounter = meterRegistry.counter("fintrack.expenses.submitted");
+        this.approvedCounter = meterRegistry.counter("fintrack.expenses.reviewed", "outcome", "approved");
+        this.deniedCounter = meterRegistry.counter("fintrack.expenses.reviewed", "outcome", "denied");
     }
 
     // --- Core CRUD ---
@@ -45,14 +112,95 @@ public class ExpenseServiceImpl implements ExpenseService {
 
         // 1. Fetch the necessary entities (will throw an exception if not found)
 
-        // FIX 1: Use the injected 'userService' to find the User
+        // Resolved before the transaction opens: both lookups are served from the entity caches once warm,
+        // and a cache miss inside a transaction would load without caching
         User submittedBy = userService.getCurrentAuthenticatedUser();
-
-        // FIX 2: Use the injected 'departmentRepository' to find the Department
-        Department department = departmentRepository.findById(expenseDto.getDepartmentId())
+        Department department = departmentService.lookupDepartment(expenseDto.getDepartmentId())
                 .orElseThrow(() -> new EntityNotFoundException("Department not found for ID: " + expenseDto.getDepartmentId()));
 
         // 2. Create and populate the final Expense entity
+        Expense newExpense = newPendingExpense(expenseDto, submittedBy, department);
+
+        // 3. Save the entity and count it in the monthly rollups and the search index
+        return concurrencyRetry.inTransaction(() -> {
+            Expense saved = expenseRepository.save(newExpense);
+            rollupService.recordAdded(List.of(RollupContribution.of(saved)));
+            searchIndex.index(List.of(saved));
+            analyticsStore.index(List.of(saved));
+            eventOutbox.record(ExpenseEventType.SUBMITTED, List.of(saved));
+            changeWatermark.expensesChanged(List.of(saved));
+            countAfterCommit(submittedCounter, 1);
+            return saved;
+        });
+    }
+
+    @Override
+    @Transactional
+    public BulkSubmitResultDTO createExpenses(List<ExpenseRequestDTO> expenseDtos) {
+        if (expenseDtos.size() > maxBulkItems) {
+            throw new IllegalArgumentException("A bulk submission may contain at most " + maxBulkItems + " expenses.");
+        }
+
+        // Resolve the submitter and every referenced department once for the whole batch
+        User submittedBy = userService.getCurrentAuthenticatedUser();
+        Set<Long> departmentIds = expenseDtos.stream()
+                .filter(Objects::nonNull) // null entries are reported per item below
+                .map(ExpenseRequestDTO::getDepartmentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Department> departments = departmentRepository.findAllById(departmentIds).stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+
+        BulkItemResultDTO[] results = new BulkItemResultDTO[expenseDtos.size()];
+        List<Expense> toInsert = new ArrayList<>();
+        List<Integer> insertIndexes = new ArrayList<>();
+        for (int i = 0; i < expenseDtos.size(); i++) {
+            ExpenseRequestDTO dto = expenseDtos.get(i);
+            String error = validateBulkItem(dto, departments);
+            if (error != null) {
+                results[i] = new BulkItemResultDTO(i, null, error);
+                continue;
+            }
+            toInsert.add(newPendingExpense(dto, submittedBy, departments.get(dto.getDepartmentId())));
+            insertIndexes.add(i);
+        }
+
+        // Ids come from the pooled sequence, so the INSERTs are sent as JDBC batches at flush time
+        List<Expense> saved = expenseRepository.saveAll(toInsert);
+        rollupService.recordAdded(saved.stream().map(RollupContribution::of).toList());
+        searchIndex.index(saved);
+        analyticsStore.index(saved);
+        eventOutbox.record(ExpenseEventType.SUBMITTED, saved);
+        changeWatermark.expensesChanged(saved);
+        countAfterCommit(submittedCounter, saved.size());
+
+        for (int i = 0; i < saved.size(); i++) {
+            int index = insertIndexes.get(i);
+            results[index] = new BulkItemResultDTO(index, saved.get(i).getId(), null);
+        }
+        return new BulkSubmitResultDTO(saved.size(), expenseDtos.size() - saved.size(), Arrays.asList(results));
+    }
+
+    private static String validateBulkItem(ExpenseRequestDTO dto, Map<Long, Department> departments) {
+        if (dto == null) {
+            return "Expense is missing.";
+        }
+        if (dto.getTitle() == null || dto.getTitle().isBlank()) {
+            return "Title is required.";
+        }
+        if (dto.getAmount() == null || dto.getAmount().signum() <= 0) {
+            return "Amount must be positive.";
+        }
+        if (dto.getCategory() == null) {
+            return "Category is required.";
+        }
+        if (dto.getDepartmentId() == null || !departments.containsKey(dto.getDepartmentId())) {
+            return "Department not found for ID: " + dto.getDepartmentId();
+        }
+        return null;
+    }
+
+    private static Expense newPendingExpense(ExpenseRequestDTO expenseDto, User submittedBy, Department department) {
         Expense newExpense = new Expense();
 
         // Map fields from DTO
@@ -68,18 +216,17 @@ public class ExpenseServiceImpl implements ExpenseService {
         // Set relationship entities
         newExpense.setSubmittedBy(submittedBy);
         newExpense.setDepartment(department);
-
-        // 3. Save the entity
-        return expenseRepository.save(newExpense);
+        return newExpense;
     }
 
     @Override
     public Expense updateExpense(Long id, Expense expenseDetails) {
-        return expenseRepository.findById(id).map(existingExpense -> {
+        return concurrencyRetry.inTransaction(() -> expenseRepository.findById(id).map(existingExpense -> {
             // Only update if PENDING
             if (existingExpense.getStatus() != ExpenseStatus.PENDING) {
                 throw new IllegalStateException("Cannot update an expense that is not PENDING.");
             }
+            RollupContribution before = RollupContribution.of(existingExpense);
             // Copy fields from expenseDetails to existingExpense
             existingExpense.setTitle(expenseDetails.getTitle());
             existingExpense.setDescription(expenseDetails.getDescription());
@@ -87,13 +234,27 @@ public class ExpenseServiceImpl implements ExpenseService {
             existingExpense.setCategory(expenseDetails.getCategory());
             // Relationships (User/Dept) should typically not change after creation, but you can add logic here if needed.
 
-            return expenseRepository.save(existingExpense);
-        }).orElseThrow(() -> new EntityNotFoundException("Expense not found with ID: " + id));
+            Expense saved = expenseRepository.save(existingExpense);
+            rollupService.recordChanged(before, saved);
+            searchIndex.index(List.of(saved));
+            analyticsStore.index(List.of(saved));
+            eventOutbox.record(ExpenseEventType.UPDATED, List.of(saved));
+            changeWatermark.expensesChanged(List.of(saved));
+            return saved;
+        }).orElseThrow(() -> new EntityNotFoundException("Expense not found with ID: " + id)));
     }
 
     @Override
     public void deleteExpense(Long id) {
-        expenseRepository.deleteById(id);
+        concurrencyRetry.inTransaction(() -> expenseRepository.findById(id).ifPresent(expense -> {
+            RollupContribution removed = RollupContribution.of(expense);
+            eventOutbox.record(ExpenseEventType.DELETED, List.of(expense));
+            changeWatermark.expensesChanged(List.of(expense));
+            expenseRepository.delete(expense);
+            rollupService.recordRemoved(List.of(removed));
+            searchIndex.remove(List.of(id));
+            analyticsStore.remove(List.of(id));
+        }));
     }
 
     // --- Read Operations ---
@@ -104,34 +265,96 @@ public class ExpenseServiceImpl implements ExpenseService {
     }
 
     @Override
-    public List<Expense> findAllExpenses() {
-        return expenseRepository.findAll();
+    public ExpensePageDTO findAllExpenses(String cursor, Integer size) {
+        return findPage(null, cursor, size);
     }
 
     @Override
-    public List<Expense> findExpensesByDepartment(Long departmentId) {
-        return expenseRepository.findByDepartmentId(departmentId);
+    public ExpensePageDTO findExpensesByDepartment(Long departmentId, String cursor, Integer size) {
+        return findPage(ExpenseSpecifications.inDepartment(departmentId), cursor, size);
     }
 
     @Override
-    public List<Expense> findExpensesByUser(Long userId) {
-        return expenseRepository.findBySubmittedById(userId);
+    public ExpensePageDTO findExpensesByUser(Long userId, String cursor, Integer size) {
+        return findPage(ExpenseSpecifications.submittedBy(userId), cursor, size);
     }
 
     @Override
-    public List<Expense> findExpensesByCategory(ExpenseCategory category) {
-        return expenseRepository.findByCategory(category);
+    public ExpensePageDTO findExpensesByCategory(ExpenseCategory category, String cursor, Integer size) {
+        return findPage(ExpenseSpecifications.inCategory(category), cursor, size);
+    }
+
+    @Override
+    public ExpensePageDTO queryExpenses(ExpenseQueryFilter filter, String cursor, Integer size) {
+        filter.checkRanges();
+        return findPage(matching(filter), cursor, size);
+    }
+
+    // AND of every criterion that is set. Equality criteria come first, matching the composite index column order.
+    private static Specification<Expense> matching(ExpenseQueryFilter filter) {
+        List<Specification<Expense>> predicates = new ArrayList<>();
+        if (filter.getDepartmentId() != null) {
+            predicates.add(ExpenseSpecifications.inDepartment(filter.getDepartmentId()));
+        }
+        if (filter.getSubmittedById() != null) {
+            predicates.add(ExpenseSpecifications.submittedBy(filter.getSubmittedById()));
+        }
+        if (filter.getCategory() != null) {
+            predicates.add(ExpenseSpecifications.inCategory(filter.getCategory()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(ExpenseSpecifications.withStatus(filter.getStatus()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(ExpenseSpecifications.submittedOnOrAfter(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(ExpenseSpecifications.submittedOnOrBefore(filter.getTo()));
+        }
+        if (filter.getMinAmount() != null) {
+            predicates.add(ExpenseSpecifications.amountAtLeast(filter.minAmountBound()));
+        }
+        if (filter.getMaxAmount() != null) {
+            predicates.add(ExpenseSpecifications.amountAtMost(filter.maxAmountBound()));
+        }
+        return Specification.allOf(predicates);
+    }
+
+    // Fetches one row more than requested so we know whether another page exists without a COUNT query.
+    private ExpensePageDTO findPage(Specification<Expense> filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<Specification<Expense>> predicates = new ArrayList<>();
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            ExpenseCursor position = ExpenseCursor.decode(cursor);
+            predicates.add(ExpenseSpecifications.after(position.dateSubmitted(), position.id()));
+        }
+
+        List<Expense> rows = expenseRepository.findBy(Specification.allOf(predicates),
+                query -> query.sortBy(PAGE_ORDER).limit(pageSize + 1).all());
+
+        if (rows.size() <= pageSize) {
+            return new ExpensePageDTO(rows, null);
+        }
+        List<Expense> items = rows.subList(0, pageSize);
+        return new ExpensePageDTO(items, ExpenseCursor.of(items.get(pageSize - 1)).encode());
     }
 
     // --- Financial Insights ---
 
     @Override
     public Optional<Expense> getBiggestExpenseThisMonth() {
-        return expenseRepository.findBiggestExpenseThisMonth();
+        return rollupService.findBiggestExpense(YearMonth.now());
     }
 
     // --- Approval Workflow ---
 
+    // Runs in the caller's transaction. Two reviewers racing on the same expense both pass the PENDING
+    // check, but the loser's UPDATE fails its version check and rolls back together with its budget
+    // charge; the retry then reports the expense as already reviewed.
     private Expense changeStatus(Long expenseId, Long reviewerId, ExpenseStatus newStatus) {
         return expenseRepository.findById(expenseId).map(expense -> {
             // Check if expense is already reviewed (optional but good)
@@ -139,28 +362,129 @@ public class ExpenseServiceImpl implements ExpenseService {
                 throw new IllegalStateException("Expense has already been reviewed.");
             }
 
+            RollupContribution before = RollupContribution.of(expense);
             expense.setReviewedBy(userService.findUserById(reviewerId)
                     .orElseThrow(() -> new EntityNotFoundException("Reviewer not found with ID: " + reviewerId)));
 
-            expense.setStatus(newStatus);
-            expense.setDateReviewed(LocalDate.now());
-
             if (newStatus == ExpenseStatus.APPROVED) {
+                // Charged in the same transaction as the status change, so a rejected or
+                // rolled-back approval never leaves the department spend out of step.
+                int updated = departmentRepository.addSpentAmount(expense.getDepartment().getId(), expense.getAmount());
+                if (updated == 0) {
+                    throw new IllegalStateException("Approving this expense would exceed the department's yearly budget.");
+                }
+                budgetOverviewCache.invalidate();
+                departmentCache.evict(expense.getDepartment().getId()); // cached copy carries spentAmount
             }
 
-            return expenseRepository.save(expense);
+            expense.setStatus(newStatus);
+            expense.setDateReviewed(LocalDate.now());
+
+            Expense saved = expenseRepository.save(expense);
+            rollupService.recordChanged(before, saved);
+            searchIndex.index(List.of(saved)); // status is a search filter
+            analyticsStore.index(List.of(saved));
+            eventOutbox.record(newStatus == ExpenseStatus.APPROVED ? ExpenseEventType.APPROVED : ExpenseEventType.DENIED,
+                    List.of(saved));
+            changeWatermark.expensesChanged(List.of(saved));
+            countAfterCommit(newStatus == ExpenseStatus.APPROVED ? approvedCounter : deniedCounter, 1);
+            return saved;
         }).orElseThrow(() -> new EntityNotFoundException("Expense not found with ID: " + expenseId));
     }
 
+    // Counters only move once the change is durable, so rolled-back attempts are not reported.
+    private static void countAfterCommit(Counter counter, double amount) {
+        if (amount > 0) {
+            AfterCommit.run(() -> counter.increment(amount));
+        }
+    }
+
     @Override
     public Expense approveExpense(Long expenseId) {
-        User user= userService.getCurrentAuthenticatedUser();
+        return concurrencyRetry.inTransaction(() -> {
+            User user= userService.getCurrentAuthenticatedUser();
 
-        return changeStatus(expenseId, user.getId(), ExpenseStatus.APPROVED);
+            return changeStatus(expenseId, user.getId(), ExpenseStatus.APPROVED);
+        });
     }
 
     @Override
     public Expense denyExpense(Long expenseId, Long reviewerId) {
-        return changeStatus(expenseId, reviewerId, ExpenseStatus.DENIED);
+        return concurrencyRetry.inTransaction(() -> changeStatus(expenseId, reviewerId, ExpenseStatus.DENIED));
+    }
+
+    @Override
+    @Transactional
+    public BulkReviewResultDTO reviewExpenses(List<Long> expenseIds, ExpenseStatus decision) {
+        if (decision != ExpenseStatus.APPROVED && decision != ExpenseStatus.DENIED) {
+            throw new IllegalArgumentException("Decision must be APPROVED or DENIED.");
+        }
+        List<Long> ids = expenseIds == null ? List.of()
+                : expenseIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > maxBulkItems) {
+            throw new IllegalArgumentException("A bulk review may contain at most " + maxBulkItems + " expenses.");
+        }
+        if (ids.isEmpty()) {
+            return new BulkReviewResultDTO(0, 0, List.of());
+        }
+
+        User reviewer = userService.getCurrentAuthenticatedUser();
+
+        // Lock departments before expenses, the same order as a single approval, so the paths cannot deadlock
+        Map<Long, Department> departments = decision != ExpenseStatus.APPROVED ? Map.of()
+                : departmentRepository.findAllByIdForUpdate(expenseRepository.findDepartmentIdsByIdIn(ids)).stream()
+                        .collect(Collectors.toMap(Department::getId, Function.identity()));
+        Map<Long, Expense> expenses = expenseRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Expense::getId, Function.identity()));
+
+        LocalDate today = LocalDate.now();
+        List<BulkReviewItemDTO> results = new ArrayList<>(ids.size());
+        List<RollupContribution> before = new ArrayList<>();
+        List<Expense> reviewed = new ArrayList<>();
+        for (Long id : ids) {
+            Expense expense = expenses.get(id);
+            if (expense == null) {
+                results.add(new BulkReviewItemDTO(id, null, "Expense not found with ID: " + id));
+                continue;
+            }
+            if (expense.getStatus() != ExpenseStatus.PENDING) {
+                results.add(new BulkReviewItemDTO(id, null, "Expense has already been reviewed."));
+                continue;
+            }
+            if (decision == ExpenseStatus.APPROVED) {
+                // Budget is consumed in request order; an expense that no longer fits is skipped, later smaller ones may still fit
+                Department department = departments.get(expense.getDepartment().getId());
+                Money spent = department.getSpentAmount().plus(expense.getAmount());
+                if (spent.isGreaterThan(department.getYearlyBudget())) {
+                    results.add(new BulkReviewItemDTO(id, null,
+                            "Approving this expense would exceed the department's yearly budget."));
+                    continue;
+                }
+                department.setSpentAmount(spent);
+            }
+
+            before.add(RollupContribution.of(expense));
+            expense.setStatus(decision);
+            expense.setReviewedBy(reviewer);
+            expense.setDateReviewed(today);
+            reviewed.add(expense);
+            results.add(new BulkReviewItemDTO(id, decision, null));
+        }
+
+        // Expense and department changes are flushed as batched UPDATEs (hibernate.jdbc.batch_size)
+        if (!reviewed.isEmpty()) {
+            rollupService.recordChanged(before, reviewed.stream().map(RollupContribution::of).toList());
+            searchIndex.index(reviewed);
+            analyticsStore.index(reviewed);
+            eventOutbox.record(decision == ExpenseStatus.APPROVED ? ExpenseEventType.APPROVED : ExpenseEventType.DENIED,
+                    reviewed);
+            changeWatermark.expensesChanged(reviewed);
+            if (decision == ExpenseStatus.APPROVED) {
+                budgetOverviewCache.invalidate();
+                departments.keySet().forEach(departmentCache::evict);
+            }
+            countAfterCommit(decision == ExpenseStatus.APPROVED ? approvedCounter : deniedCounter, reviewed.size());
+        }
+        return new BulkReviewResultDTO(reviewed.size(), ids.size() - reviewed.size(), results);
     }
 }
\ No newline at end of file
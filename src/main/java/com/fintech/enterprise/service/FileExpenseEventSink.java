@@ -0,0 +1,49 @@
+package com.fintech.enterprise.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fintech.enterprise.service.dto.ExpenseEventDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Appends events to a file as NDJSON (one event per line), synced to disk before the batch counts as
+ * published. Enabled by setting outbox.file-sink.path; meant for tests and local consumers.
+ */
+@Component
+@ConditionalOnProperty("outbox.file-sink.path")
+public class FileExpenseEventSink implements ExpenseEventSink {
+
+    private final Path path;
+    private final ObjectWriter writer;
+
+    public FileExpenseEventSink(@Value("${outbox.file-sink.path}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.writer = objectMapper.writerFor(ExpenseEventDTO.class);
+    }
+
+    @Override
+    public void publish(List<ExpenseEventDTO> events) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileOutputStream file = new FileOutputStream(path.toFile(), true)) {
+            OutputStream out = new BufferedOutputStream(file);
+            for (ExpenseEventDTO event : events) {
+                out.write(writer.writeValueAsBytes(event));
+                out.write('\n');
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+    }
+}
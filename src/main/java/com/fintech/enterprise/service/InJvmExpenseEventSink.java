@@ -0,0 +1,26 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.service.dto.ExpenseEventDTO;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands each event to in-process consumers as a Spring application event; listen with
+ * {@code @EventListener void on(ExpenseEventDTO event)}. Listeners run on the relay thread, so keep them short.
+ */
+@Component
+public class InJvmExpenseEventSink implements ExpenseEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    public InJvmExpenseEventSink(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void publish(List<ExpenseEventDTO> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
@@ -0,0 +1,35 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseRollupKey;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * What one expense contributes to the monthly rollups. Captured before an expense is changed so the
+ * old contribution can be taken out of its bucket after the new one is recorded.
+ */
+public record RollupContribution(Long expenseId, Long departmentId, ExpenseCategory category,
+                                 ExpenseStatus status, LocalDate dateSubmitted, Money amount) {
+
+    public static RollupContribution of(Expense expense) {
+        return new RollupContribution(expense.getId(), expense.getDepartment().getId(), expense.getCategory(),
+                expense.getStatus(), expense.getDateSubmitted(), expense.getAmount());
+    }
+
+    public ExpenseRollupKey key() {
+        return new ExpenseRollupKey(departmentId, category, status, periodOf(YearMonth.from(dateSubmitted)));
+    }
+
+    public static int periodOf(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public static YearMonth monthOf(int period) {
+        return YearMonth.of(period / 100, period % 100);
+    }
+}
@@ -1,8 +1,11 @@
 package com.fintech.enterprise.service;
 
+import com.fintech.enterprise.config.MetricsConfig;
 import com.fintech.enterprise.model.User;
 import com.fintech.enterprise.model.Role;
 import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -10,6 +13,7 @@ import org.springframework.security.core.context.SecurityContextHolder; // Requi
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 
@@ -18,15 +22,24 @@ import java.util.Optional;
 
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EntityCache<Long, User> userByIdCache;
+    private final EntityCache<String, User> userByUsernameCache;
+    private final ExpenseChangeWatermark changeWatermark;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           EntityCache<Long, User> userByIdCache, EntityCache<String, User> userByUsernameCache,
+                           ExpenseChangeWatermark changeWatermark) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userByIdCache = userByIdCache;
+        this.userByUsernameCache = userByUsernameCache;
+        this.changeWatermark = changeWatermark;
     }
 
     // --- WRITE Operations ---
@@ -34,6 +47,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public User createUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
+        changeWatermark.everythingChanged(); // department listings render members
         return userRepository.save(user);
     }
 
@@ -42,6 +56,11 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
 
+        // Any of username, role or password may change below; drop the cached user either way
+        userByIdCache.evict(id);
+        userByUsernameCache.evict(user.getUsername());
+        changeWatermark.everythingChanged(); // expenses render their submitter and reviewer
+
         if (userDetails.getUsername() != null && !userDetails.getUsername().trim().isEmpty()) {
             user.setUsername(userDetails.getUsername());
         }
@@ -68,9 +87,12 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    // Served from EntityCache: the returned user is detached and must not be modified. SUPPORTS so the
+    // class-level transaction does not open around a cache read (misses inside a transaction are not cached)
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<User> findUserById(Long id) {
-        return userRepository.findById(id);
+        return userByIdCache.get(id, userRepository::findById);
     }
 
     @Override
@@ -78,13 +100,16 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByRole(role);
     }
 
+    // Served from EntityCache: the returned user is detached and must not be modified
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userByUsernameCache.get(username, userRepository::findByUsername);
     }
 
     // --- CRITICAL FIX: Method to retrieve the authenticated user ---
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public User getCurrentAuthenticatedUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
@@ -95,6 +120,9 @@ public class UserServiceImpl implements UserService {
         String username;
 
         Object principal = auth.getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticated) {
+            return authenticated.toUser(); // token-authenticated: resolved from the verified claims, no query
+        }
         if (principal instanceof UserDetails userDetails) {
             username = userDetails.getUsername();
         } else if (principal instanceof String str) {
@@ -113,6 +141,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUser(Long id) {
+        userRepository.findById(id).ifPresent(user -> {
+            userByUsernameCache.evict(user.getUsername());
+        });
+        userByIdCache.evict(id);
+        changeWatermark.everythingChanged();
         userRepository.deleteById(id);
     }
 }
@@ -0,0 +1,12 @@
+package com.fintech.enterprise.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AuthTokensDTO {
+    private String token; // access token, sent as "Authorization: Bearer <token>"
+    private String refreshToken; // exchanged at POST /api/auth/refresh for a new pair
+    private long expiresIn; // access token lifetime in seconds
+}
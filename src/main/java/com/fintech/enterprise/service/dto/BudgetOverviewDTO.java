@@ -1,5 +1,6 @@
 package com.fintech.enterprise.service.dto;
 
+import com.fintech.enterprise.model.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -9,9 +10,24 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class BudgetOverviewDTO {
     private String departmentName;
-    private BigDecimal yearlyBudget;
-    private BigDecimal spentAmount;
-    private BigDecimal remainingAmount;
+    private Money yearlyBudget;
+    private Money spentAmount;
+    private Money remainingAmount;
     private BigDecimal remainingPercent;
     private BigDecimal spentPercent; // Added this for comprehensive reporting
+
+    // Percentages are rounded HALF_UP to 4 decimals of the ratio, then scaled to percent (see Money.percentOf)
+    public static BudgetOverviewDTO of(String departmentName, Money yearlyBudget, Money spentAmount) {
+        Money remaining = yearlyBudget.minus(spentAmount);
+        boolean hasBudget = yearlyBudget.signum() > 0;
+
+        return new BudgetOverviewDTO(
+                departmentName,
+                yearlyBudget,
+                spentAmount,
+                remaining,
+                hasBudget ? remaining.percentOf(yearlyBudget) : BigDecimal.ZERO,
+                hasBudget ? spentAmount.percentOf(yearlyBudget) : BigDecimal.ZERO
+        );
+    }
 }
@@ -0,0 +1,13 @@
+package com.fintech.enterprise.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Outcome for one entry of a bulk request; exactly one of expenseId / error is set.
+@Data
+@AllArgsConstructor
+public class BulkItemResultDTO {
+    private int index;
+    private Long expenseId;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.ExpenseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Outcome for one id of a bulk review; status is the new status, or null when error is set.
+@Data
+@AllArgsConstructor
+public class BulkReviewItemDTO {
+    private Long expenseId;
+    private ExpenseStatus status;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.fintech.enterprise.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkReviewResultDTO {
+    private int reviewed;
+    private int failed;
+    private List<BulkReviewItemDTO> results; // in request order, one per distinct id
+}
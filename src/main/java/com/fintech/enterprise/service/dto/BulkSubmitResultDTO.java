@@ -0,0 +1,14 @@
+package com.fintech.enterprise.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkSubmitResultDTO {
+    private int submitted;
+    private int failed;
+    private List<BulkItemResultDTO> results; // in request order
+}
@@ -0,0 +1,17 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class DashboardDTO {
+    private List<BudgetOverviewDTO> budgetOverview;
+    private Expense biggestExpenseThisMonth; // null when nothing was submitted this month
+    private Map<ExpenseCategory, ExpensePageDTO> recentByCategory;
+}
@@ -0,0 +1,25 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.YearMonth;
+
+// One group of an analytics query; the dimensions that were not grouped by are null
+@Data
+@AllArgsConstructor
+public class ExpenseAggregateDTO {
+    private Long departmentId;
+    private Long userId;
+    private ExpenseCategory category;
+    private ExpenseStatus status;
+    private YearMonth month;
+    private long expenseCount;
+    private Money totalAmount;
+    private Money minAmount;
+    private Money maxAmount;
+    private Money averageAmount;
+}
@@ -0,0 +1,13 @@
+package com.fintech.enterprise.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExpenseAnalyticsDTO {
+    private long matched; // expenses across all groups
+    private List<ExpenseAggregateDTO> groups;
+}
@@ -0,0 +1,36 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseEvent;
+import com.fintech.enterprise.model.ExpenseEventType;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// What sinks and the /api/events feed receive; eventId is stable across redeliveries, so consumers dedupe on it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseEventDTO {
+    private long position;
+    private Long eventId;
+    private ExpenseEventType type;
+    private Long expenseId;
+    private Long departmentId;
+    private Long submittedById;
+    private Long reviewerId;
+    private ExpenseCategory category;
+    private ExpenseStatus status;
+    private Money amount;
+    private Instant occurredAt;
+
+    public static ExpenseEventDTO of(ExpenseEvent event) {
+        return new ExpenseEventDTO(event.getPosition(), event.getId(), event.getType(), event.getExpenseId(),
+                event.getDepartmentId(), event.getSubmittedById(), event.getReviewerId(), event.getCategory(),
+                event.getStatus(), event.getAmount(), event.getOccurredAt());
+    }
+}
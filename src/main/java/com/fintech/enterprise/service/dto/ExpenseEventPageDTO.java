@@ -0,0 +1,14 @@
+package com.fintech.enterprise.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExpenseEventPageDTO {
+    private List<ExpenseEventDTO> events;
+    private long lastPosition; // pass as ?after= on the next call; unchanged when nothing new was published
+    private boolean more; // another page is already available
+}
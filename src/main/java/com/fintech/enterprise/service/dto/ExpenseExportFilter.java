@@ -0,0 +1,21 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// All criteria are optional; dates are inclusive and apply to dateSubmitted.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseExportFilter {
+    private LocalDate from;
+    private LocalDate to;
+    private Long departmentId;
+    private ExpenseCategory category;
+    private ExpenseStatus status;
+}
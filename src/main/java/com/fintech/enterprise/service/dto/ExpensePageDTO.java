@@ -0,0 +1,14 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.Expense;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExpensePageDTO {
+    private List<Expense> items;
+    private String nextCursor; // null when there are no more pages
+}
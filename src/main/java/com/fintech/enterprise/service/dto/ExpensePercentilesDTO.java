@@ -0,0 +1,14 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ExpensePercentilesDTO {
+    private long matched;
+    private Map<String, Money> percentiles; // "p50" -> amount, in the requested order; empty if nothing matched
+}
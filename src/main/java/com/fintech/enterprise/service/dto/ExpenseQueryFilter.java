@@ -0,0 +1,47 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+// All criteria are optional and combined with AND; dates (dateSubmitted) and amounts are inclusive.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseQueryFilter {
+    private Long departmentId;
+    private Long submittedById;
+    private ExpenseCategory category;
+    private ExpenseStatus status;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    // Shared by the query and analytics endpoints; an inverted range is a client error, not an empty result
+    public void checkRanges() {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("'minAmount' must not be greater than 'maxAmount'.");
+        }
+    }
+
+    // Amount bounds rounded inwards to whole cents, which select exactly the rows the raw bounds would:
+    // minAmount=10.005 matches 10.01 and up
+    public Money minAmountBound() {
+        return minAmount == null ? null : Money.of(minAmount.setScale(Money.SCALE, RoundingMode.CEILING));
+    }
+
+    public Money maxAmountBound() {
+        return maxAmount == null ? null : Money.of(maxAmount.setScale(Money.SCALE, RoundingMode.FLOOR));
+    }
+}
@@ -1,11 +1,11 @@
 package com.fintech.enterprise.service.dto;
 
 import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.Money;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -15,7 +15,7 @@ public class ExpenseRequestDTO {
 
     private String title;
     private String description;
-    private BigDecimal amount;
+    private Money amount;
     private ExpenseCategory category;
     private Long departmentId;
 
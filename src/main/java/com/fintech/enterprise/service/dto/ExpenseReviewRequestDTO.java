@@ -0,0 +1,16 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.ExpenseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseReviewRequestDTO {
+    private List<Long> expenseIds;
+    private ExpenseStatus decision; // APPROVED or DENIED
+}
@@ -0,0 +1,22 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.YearMonth;
+
+@Data
+@AllArgsConstructor
+public class ExpenseRollupDTO {
+    private Long departmentId;
+    private ExpenseCategory category;
+    private ExpenseStatus status;
+    private YearMonth month;
+    private long expenseCount;
+    private Money totalAmount;
+    private Money maxAmount;
+    private Long topExpenseId;
+}
@@ -0,0 +1,12 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.Expense;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ExpenseSearchHitDTO {
+    private float score; // BM25 relevance; only comparable within one result
+    private Expense expense;
+}
@@ -0,0 +1,13 @@
+package com.fintech.enterprise.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExpenseSearchResultDTO {
+    private int totalHits; // all matches, of which the best 'limit' are returned
+    private List<ExpenseSearchHitDTO> hits; // best match first
+}
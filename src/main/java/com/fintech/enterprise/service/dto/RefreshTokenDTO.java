@@ -0,0 +1,8 @@
+package com.fintech.enterprise.service.dto;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenDTO {
+    private String refreshToken;
+}
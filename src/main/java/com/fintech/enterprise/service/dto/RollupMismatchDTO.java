@@ -0,0 +1,27 @@
+package com.fintech.enterprise.service.dto;
+
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.YearMonth;
+
+// One bucket whose stored rollup differs from what the raw expense rows add up to.
+@Data
+@AllArgsConstructor
+public class RollupMismatchDTO {
+    private Long departmentId;
+    private ExpenseCategory category;
+    private ExpenseStatus status;
+    private YearMonth month;
+    private long expectedCount;
+    private long actualCount;
+    private Money expectedTotal;
+    private Money actualTotal;
+    private Money expectedMax;
+    private Money actualMax;
+    private Long expectedTopExpenseId;
+    private Long actualTopExpenseId;
+}
@@ -0,0 +1,122 @@
+package com.fintech.enterprise.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica. The replica's lag is whatever the
+ * test writes into its replica_lag table (the lag query reads it); without that table the check fails.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "datasource.replica.lag-query=SELECT lag_seconds FROM replica_lag",
+        "datasource.replica.max-lag=1s",
+        "datasource.replica.check-interval=1h"
+})
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ReadReplicaDataSource routing;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void replicaInRotation() throws SQLException {
+        routing = dataSource.unwrap(ReadReplicaDataSource.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        onReplica("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds DECIMAL(10, 3))",
+                "DELETE FROM replica_lag", "INSERT INTO replica_lag VALUES (0)");
+        assertThat(routing.checkReplica()).isTrue();
+    }
+
+    @AfterEach
+    void dropLag() throws SQLException {
+        onReplica("DROP TABLE IF EXISTS replica_lag");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndTheRestToThePrimary() {
+        assertThat(database(readOnly)).isEqualTo("routing-replica");
+        String viaHibernate = readOnly.execute(status -> (String) entityManager
+                .createNativeQuery("SELECT DATABASE()").getSingleResult());
+        assertThat(viaHibernate).isEqualTo("routing-replica");
+
+        assertThat(database(readWrite)).isEqualTo("routing-primary");
+        assertThat(database()).isEqualTo("routing-primary"); // no transaction at all
+        String pinned = ReadRouting.onPrimary(() -> database(readOnly));
+        assertThat(pinned).isEqualTo("routing-primary");
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotationUntilItCatchesUp() throws SQLException {
+        double fallbacks = meterRegistry.counter("fintrack.datasource.replica.fallbacks").count();
+
+        onReplica("UPDATE replica_lag SET lag_seconds = 5");
+        assertThat(routing.checkReplica()).isFalse();
+        assertThat(database(readOnly)).isEqualTo("routing-primary");
+        assertThat(meterRegistry.counter("fintrack.datasource.replica.fallbacks").count()).isEqualTo(fallbacks + 1);
+        assertThat(meterRegistry.get("fintrack.datasource.replica.lag").gauge().value()).isEqualTo(5.0);
+
+        onReplica("UPDATE replica_lag SET lag_seconds = 0.2");
+        assertThat(routing.checkReplica()).isTrue();
+        assertThat(database(readOnly)).isEqualTo("routing-replica");
+    }
+
+    @Test
+    void failingHealthCheckSendsReadsToThePrimary() throws SQLException {
+        onReplica("DROP TABLE replica_lag");
+
+        assertThat(routing.checkReplica()).isFalse();
+        assertThat(routing.isReplicaAvailable()).isFalse();
+        assertThat(database(readOnly)).isEqualTo("routing-primary");
+    }
+
+    private String database(TransactionTemplate transaction) {
+        return transaction.execute(status -> database());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static void onReplica(String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
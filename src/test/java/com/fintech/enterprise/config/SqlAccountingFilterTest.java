@@ -0,0 +1,71 @@
+package com.fintech.enterprise.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlAccountingFilterTest {
+
+    // Six executions of one statement: over a budget of 2 and over the repeat threshold of 3
+    private static final FilterChain N_PLUS_ONE = (request, response) -> {
+        for (int i = 0; i < 6; i++) {
+            SqlAccounting.current().executed("select u.username from users u where u.id=?", 1_000);
+        }
+    };
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void everyRequestIsCountedButEachRouteIsLoggedOncePerInterval(CapturedOutput output) throws Exception {
+        SqlAccountingFilter filter = new SqlAccountingFilter(2, Duration.ofSeconds(10), 3, Duration.ofHours(1), meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("/api/expenses/" + i, "/api/expenses/{id}"), new MockHttpServletResponse(), N_PLUS_ONE);
+        }
+        filter.doFilter(request("/api/users/7", "/api/users/{id}"), new MockHttpServletResponse(), N_PLUS_ONE);
+
+        assertThat(meterRegistry.counter("fintrack.sql.budget.exceeded", "uri", "/api/expenses/{id}").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("fintrack.sql.repeated", "uri", "/api/expenses/{id}").count()).isEqualTo(3);
+        assertThat(occurrences(output.getOut(), "SQL budget exceeded by GET /api/expenses/")).isEqualTo(1);
+        assertThat(occurrences(output.getOut(), "Probable N+1 in GET /api/expenses/")).isEqualTo(1);
+        assertThat(occurrences(output.getOut(), "SQL budget exceeded by GET /api/users/7")).isEqualTo(1);
+        assertThat(output.getOut()).contains("WARN").contains("6x select u.username from users u where u.id=?");
+        assertThat(output.getErr()).doesNotContain("SQL budget exceeded");
+    }
+
+    @Test
+    void theNextReportSaysHowManyWereSuppressed(CapturedOutput output) throws Exception {
+        SqlAccountingFilter filter = new SqlAccountingFilter(2, Duration.ofSeconds(10), 3, Duration.ofMillis(200), meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("/api/departments/1", "/api/departments/{id}"), new MockHttpServletResponse(), N_PLUS_ONE);
+        }
+        Thread.sleep(250);
+        filter.doFilter(request("/api/departments/1", "/api/departments/{id}"), new MockHttpServletResponse(), N_PLUS_ONE);
+
+        assertThat(occurrences(output.getOut(), "SQL budget exceeded by GET /api/departments/1")).isEqualTo(2);
+        assertThat(output.getOut()).contains("(2 similar reports suppressed)");
+    }
+
+    private static MockHttpServletRequest request(String uri, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private static int occurrences(String text, String fragment) {
+        return text.split(Pattern.quote(fragment), -1).length - 1;
+    }
+}
@@ -0,0 +1,36 @@
+package com.fintech.enterprise.config;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test support for SQL budgets: runs an action (typically a MockMvc request) in its own
+ * {@link SqlAccounting} scope and asserts on the statements it ran, e.g.
+ * {@code SqlBudget.assertAtMost(2, () -> mockMvc.perform(get("/api/expenses")))}.
+ */
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    public static SqlAccounting.Stats measure(SqlAccounting.SqlAction action) throws Exception {
+        return SqlAccounting.measure(action);
+    }
+
+    /** Fails when {@code action} runs more than {@code maxStatements} statements; returns what it ran. */
+    public static SqlAccounting.Stats assertAtMost(int maxStatements, SqlAccounting.SqlAction action)
+            throws Exception {
+        SqlAccounting.Stats stats = measure(action);
+        assertThat(stats.statements())
+                .as("statements run (%s): %s", stats, stats.executions().keySet())
+                .isLessThanOrEqualTo(maxStatements);
+        return stats;
+    }
+
+    /** Fails when any statement ran {@code threshold} times or more, i.e. on a probable N+1. */
+    public static void assertNoRepeatedStatements(SqlAccounting.Stats stats, int threshold) {
+        Map<String, Long> repeated = stats.repeatedStatements(threshold);
+        assertThat(repeated).as("statements run %d+ times", threshold).isEmpty();
+    }
+}
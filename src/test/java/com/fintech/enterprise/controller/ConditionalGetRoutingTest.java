@@ -0,0 +1,103 @@
+package com.fintech.enterprise.controller;
+
+import com.fintech.enterprise.config.ReadReplicaDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tagged responses stay on the read path: the version and the body come from the same connection, so from
+ * the replica while it is in rotation (same databases as ReadReplicaRoutingTest).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.url=" + ConditionalGetRoutingTest.REPLICA_URL,
+        "datasource.replica.lag-query=SELECT lag_seconds FROM replica_lag",
+        "datasource.replica.max-lag=1s",
+        "datasource.replica.check-interval=1h"
+})
+class ConditionalGetRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ConditionalGet conditionalGet;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ReadReplicaDataSource routing;
+
+    @BeforeEach
+    void replicaInRotation() throws SQLException {
+        routing = dataSource.unwrap(ReadReplicaDataSource.class);
+        onReplica("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds DECIMAL(10, 3))",
+                "DELETE FROM replica_lag", "INSERT INTO replica_lag VALUES (0)");
+        assertThat(routing.checkReplica()).isTrue();
+    }
+
+    @AfterEach
+    void dropLag() throws SQLException {
+        onReplica("DROP TABLE IF EXISTS replica_lag");
+    }
+
+    @Test
+    void versionAndBodyAreReadFromTheReplica() {
+        ResponseEntity<String> response = conditionalGet.respond(request(null), this::database, this::database);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"routing-replica\"");
+        assertThat(response.getBody()).isEqualTo("routing-replica");
+    }
+
+    @Test
+    void outOfRotationBothComeFromThePrimary() throws SQLException {
+        onReplica("UPDATE replica_lag SET lag_seconds = 5");
+        assertThat(routing.checkReplica()).isFalse();
+
+        ResponseEntity<String> response = conditionalGet.respond(request("\"routing-replica\""),
+                this::database, this::database);
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"routing-primary\"");
+        assertThat(response.getBody()).isEqualTo("routing-primary");
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static void onReplica(String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.fintech.enterprise.controller;
+
+import com.fintech.enterprise.config.SqlBudget;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.service.DepartmentService;
+import com.fintech.enterprise.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listings and the budget overview answer a matching If-None-Match with 304 after at most the watermark
+ * lookup, until a change to what they show moves their watermark.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ConditionalGetTest {
+
+    private static final AtomicInteger RUN = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Department changed;
+    private Department untouched;
+    private Expense pending;
+
+    @BeforeEach
+    void seedTwoDepartments() {
+        int run = RUN.incrementAndGet();
+        changed = departmentRepository.save(new Department(null, "Etag-Changed-" + run, Money.of("5000.00"), Money.ZERO));
+        untouched = departmentRepository.save(new Department(null, "Etag-Untouched-" + run, Money.of("5000.00"), Money.ZERO));
+        User user = new User(null, "etag-" + run, "{noop}password", Role.EMPLOYEE);
+        user.setDepartment(changed);
+        userRepository.save(user);
+        pending = new Expense();
+        pending.setTitle("Etag check");
+        pending.setAmount(Money.of("10.00"));
+        pending.setCategory(ExpenseCategory.TRAVEL);
+        pending.setSubmittedBy(user);
+        pending.setDepartment(changed);
+        pending = expenseRepository.save(pending);
+    }
+
+    @Test
+    void unchangedListingIsAnsweredWithTheWatermarkLookupOnly() throws Exception {
+        String etag = etagOf("/api/expenses/department/" + changed.getId());
+
+        SqlBudget.assertAtMost(1, () -> mockMvc.perform(get("/api/expenses/department/{id}", changed.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string("")));
+    }
+
+    @Test
+    void expenseChangeMovesTheTagsThatShowIt() throws Exception {
+        String changedTag = etagOf("/api/expenses/department/" + changed.getId());
+        String untouchedTag = etagOf("/api/expenses/department/" + untouched.getId());
+        String allTag = etagOf("/api/expenses");
+
+        Expense edit = new Expense();
+        edit.setTitle("Etag check, corrected");
+        edit.setAmount(Money.of("12.00"));
+        edit.setCategory(ExpenseCategory.TRAVEL);
+        expenseService.updateExpense(pending.getId(), edit);
+
+        assertThat(etagOf("/api/expenses/department/" + changed.getId(), changedTag)).isNotEqualTo(changedTag);
+        assertThat(etagOf("/api/expenses", allTag)).isNotEqualTo(allTag);
+        mockMvc.perform(get("/api/expenses/department/{id}", untouched.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, untouchedTag))
+                .andExpect(status().isNotModified());
+    }
+
+    // Another instance, or a script, writing to the database: only the shared counters tell this instance
+    @Test
+    void changeCommittedElsewhereMovesTheTags() throws Exception {
+        String departmentTag = etagOf("/api/expenses/department/" + changed.getId());
+        String allTag = etagOf("/api/expenses");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE expense SET title = 'Etag check, by SQL' WHERE id = ?", pending.getId());
+            jdbcTemplate.update("INSERT INTO change_watermark (scope, change_count) VALUES ('departments', 0) "
+                    + "ON CONFLICT DO NOTHING");
+            jdbcTemplate.update("UPDATE change_watermark SET change_count = change_count + 1 WHERE scope = 'departments'");
+        });
+
+        assertThat(etagOf("/api/expenses/department/" + changed.getId(), departmentTag)).isNotEqualTo(departmentTag);
+        assertThat(etagOf("/api/expenses", allTag)).isNotEqualTo(allTag);
+    }
+
+    @Test
+    void budgetOverviewTagMovesWithTheBudgets() throws Exception {
+        String etag = etagOf("/api/departments/budget-overview");
+        mockMvc.perform(get("/api/departments/budget-overview").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        Department budget = new Department();
+        budget.setYearlyBudget(Money.of("7500.00"));
+        departmentService.updateDepartment(untouched.getId(), budget);
+
+        assertThat(etagOf("/api/departments/budget-overview", etag)).isNotEqualTo(etag);
+    }
+
+    private String etagOf(String path) throws Exception {
+        return etagOf(path, null);
+    }
+
+    // Full 200 response expected: either no tag was sent or the sent one is stale
+    private String etagOf(String path, String ifNoneMatch) throws Exception {
+        var request = get(path);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        String etag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+}
@@ -0,0 +1,84 @@
+package com.fintech.enterprise.controller;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.service.BudgetOverviewCache;
+import com.fintech.enterprise.service.ExpenseRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The dashboard assembles its concurrently read parts into one payload.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "MANAGER")
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private ExpenseRollupService rollupService;
+    @Autowired
+    private BudgetOverviewCache budgetOverviewCache;
+
+    @Test
+    void dashboardCombinesOverviewBiggestExpenseAndRecentPerCategory() throws Exception {
+        Department department = departmentRepository.save(
+                new Department(null, "Dashboard-" + System.nanoTime(), Money.of("50000000.00"), Money.ZERO));
+        Expense earlier = expenseRepository.save(expense(department, "Billboard", "1.00"));
+        Expense biggest = expenseRepository.save(expense(department, "Campaign", "9999999.00"));
+        // Saved straight through the repositories, which bypasses the rollups and the overview cache
+        rollupService.rebuild();
+        budgetOverviewCache.invalidate();
+
+        mockMvc.perform(get("/api/dashboard").param("perCategory", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.budgetOverview[*].departmentName", hasItem(department.getName())))
+                .andExpect(jsonPath("$.biggestExpenseThisMonth.id").value(biggest.getId()))
+                .andExpect(jsonPath("$.recentByCategory.length()").value(ExpenseCategory.values().length))
+                .andExpect(jsonPath("$.recentByCategory.ADVERTISING.items.length()").value(2)) // newest first
+                .andExpect(jsonPath("$.recentByCategory.ADVERTISING.items[0].id").value(biggest.getId()))
+                .andExpect(jsonPath("$.recentByCategory.ADVERTISING.items[1].id").value(earlier.getId()));
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void employeesMayNotSeeTheDashboard() throws Exception {
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isForbidden());
+    }
+
+    private Expense expense(Department department, String title, String amount) {
+        Expense expense = new Expense();
+        expense.setTitle(title);
+        expense.setAmount(Money.of(amount));
+        expense.setCategory(ExpenseCategory.ADVERTISING);
+        expense.setSubmittedBy(userRepository.findByUsername("employee").orElseThrow());
+        expense.setDepartment(department);
+        expense.setDateSubmitted(LocalDate.now());
+        return expense;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fintech.enterprise.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A dashboard whose queries cannot finish by the deadline answers 503 instead of holding the request. With no
+ * query permits every query waits for its turn, so the deadline always passes first.
+ */
+@SpringBootTest(properties = {
+        "dashboard.deadline=100ms",
+        "dashboard.max-concurrent-queries=0"
+})
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class DashboardTimeoutTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void missedDeadlineIsServiceUnavailable() throws Exception {
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Dashboard did not complete within 100 ms"));
+    }
+}
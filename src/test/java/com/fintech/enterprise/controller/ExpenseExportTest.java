@@ -0,0 +1,190 @@
+package com.fintech.enterprise.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exports are streamed, so each request is completed with an async dispatch before the body is read.
+ * Every export is restricted to one freshly seeded department to stay independent of other tests' rows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ExpenseExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private Department department;
+    private User submitter;
+    private User reviewer;
+    private Expense dinner;
+    private Expense flight;
+    private Expense paper;
+
+    @BeforeEach
+    void seed() {
+        department = departmentRepository.save(
+                new Department(null, "Export-" + System.nanoTime(), Money.of("10000.00"), Money.ZERO));
+        submitter = userRepository.findByUsername("employee").orElseThrow();
+        reviewer = userRepository.findByUsername("manager").orElseThrow();
+        dinner = save("Dinner, \"team\"", "line one\r\nline two", "12.50", ExpenseCategory.MEALS,
+                LocalDate.of(2026, 1, 15), ExpenseStatus.PENDING, null);
+        flight = save("Flight", null, "300.00", ExpenseCategory.TRAVEL,
+                LocalDate.of(2026, 2, 1), ExpenseStatus.APPROVED, LocalDate.of(2026, 2, 2));
+        paper = save("Paper", "A4", "9.99", ExpenseCategory.OFFICE_SUPPLIES,
+                LocalDate.of(2026, 3, 10), ExpenseStatus.DENIED, LocalDate.of(2026, 3, 11));
+    }
+
+    @Test
+    void csvQuotesSeparatorsQuotesAndLineBreaks() throws Exception {
+        MvcResult result = export(get("/api/expenses/export").param("departmentId", department.getId().toString()));
+
+        assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"expenses.csv\"");
+        long d = department.getId();
+        long u = submitter.getId();
+        long r = reviewer.getId();
+        assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,date_submitted,title,description,amount,category,status,department_id,user_id,reviewer_id,date_reviewed\r\n"
+                        + dinner.getId() + ",2026-01-15,\"Dinner, \"\"team\"\"\",\"line one\r\nline two\",12.50,MEALS,PENDING,"
+                        + d + "," + u + ",,\r\n"
+                        + flight.getId() + ",2026-02-01,Flight,,300.00,TRAVEL,APPROVED," + d + "," + u + "," + r + ",2026-02-02\r\n"
+                        + paper.getId() + ",2026-03-10,Paper,A4,9.99,OFFICE_SUPPLIES,DENIED," + d + "," + u + "," + r + ",2026-03-11\r\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLineWithExplicitNulls() throws Exception {
+        List<JsonNode> rows = ndjson(get("/api/expenses/export").param("format", "ndjson")
+                .param("departmentId", department.getId().toString()));
+
+        assertThat(rows).extracting(row -> row.get("id").asLong())
+                .containsExactly(dinner.getId(), flight.getId(), paper.getId());
+        JsonNode pending = rows.get(0);
+        assertThat(pending.get("title").asText()).isEqualTo("Dinner, \"team\"");
+        assertThat(pending.get("description").asText()).isEqualTo("line one\r\nline two");
+        assertThat(pending.get("amount").decimalValue()).isEqualByComparingTo("12.50");
+        assertThat(pending.get("dateSubmitted").asText()).isEqualTo("2026-01-15");
+        assertThat(pending.get("departmentId").asLong()).isEqualTo(department.getId());
+        assertThat(pending.get("userId").asLong()).isEqualTo(submitter.getId());
+        assertThat(pending.has("reviewerId")).isTrue();
+        assertThat(pending.get("reviewerId").isNull()).isTrue();
+        assertThat(pending.get("dateReviewed").isNull()).isTrue();
+        assertThat(rows.get(1).get("description").isNull()).isTrue();
+        assertThat(rows.get(1).get("reviewerId").asLong()).isEqualTo(reviewer.getId());
+        assertThat(rows.get(1).get("dateReviewed").asText()).isEqualTo("2026-02-02");
+    }
+
+    @Test
+    void everyFilterNarrowsTheExport() throws Exception {
+        String d = department.getId().toString();
+
+        assertThat(exportedIds("from", "2026-02-01")).containsExactly(flight.getId(), paper.getId());
+        assertThat(exportedIds("to", "2026-02-01")).containsExactly(dinner.getId(), flight.getId());
+        assertThat(exportedIds("category", "TRAVEL")).containsExactly(flight.getId());
+        assertThat(exportedIds("status", "DENIED")).containsExactly(paper.getId());
+        assertThat(ndjson(get("/api/expenses/export").param("format", "ndjson").param("departmentId", d)
+                .param("from", "2026-01-16").param("to", "2026-03-09").param("status", "APPROVED")))
+                .extracting(row -> row.get("id").asLong()).containsExactly(flight.getId());
+        assertThat(ndjson(get("/api/expenses/export").param("format", "ndjson")
+                .param("departmentId", Long.toString(Long.MAX_VALUE)))).isEmpty();
+    }
+
+    @Test
+    void invalidRequestsAreBadRequests() throws Exception {
+        MvcResult reversed = mockMvc.perform(get("/api/expenses/export")
+                        .param("from", "2026-03-01").param("to", "2026-02-01"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(reversed))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("'from' must not be after 'to'."));
+
+        mockMvc.perform(get("/api/expenses/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> exportedIds(String filter, String value) throws Exception {
+        return ndjson(get("/api/expenses/export").param("format", "ndjson")
+                .param("departmentId", department.getId().toString()).param(filter, value))
+                .stream().map(row -> row.get("id").asLong()).toList();
+    }
+
+    private List<JsonNode> ndjson(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = export(request);
+        assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private MvcResult export(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
+                .andReturn();
+    }
+
+    private Expense save(String title, String description, String amount, ExpenseCategory category,
+                         LocalDate submitted, ExpenseStatus status, LocalDate reviewed) {
+        Expense expense = new Expense();
+        expense.setTitle(title);
+        expense.setDescription(description);
+        expense.setAmount(Money.of(amount));
+        expense.setCategory(category);
+        expense.setDateSubmitted(submitted);
+        expense.setStatus(status);
+        expense.setSubmittedBy(submitter);
+        expense.setDepartment(department);
+        if (reviewed != null) {
+            expense.setReviewedBy(reviewer);
+            expense.setDateReviewed(reviewed);
+        }
+        return expenseRepository.save(expense);
+    }
+}
@@ -0,0 +1,117 @@
+package com.fintech.enterprise.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.service.ExpenseCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pages over (dateSubmitted DESC, id DESC): ties on the date are broken by id, so walking the cursors
+ * visits every expense exactly once even when a page boundary falls inside a run of equal dates.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ExpensePaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Test
+    void cursorsWalkEqualDatesWithoutDuplicatesOrGaps() throws Exception {
+        Department department = departmentRepository.save(
+                new Department(null, "Paging-Ties", Money.of("1000.00"), Money.ZERO));
+        LocalDate today = LocalDate.now();
+        List<Expense> seeded = new ArrayList<>();
+        // Seven on one day, so pages of three split the run twice; one older and one newer around it
+        seeded.add(expense(department, today.minusDays(1)));
+        for (int i = 0; i < 7; i++) {
+            seeded.add(expense(department, today.minusDays(3)));
+        }
+        seeded.add(expense(department, today.minusDays(5)));
+        List<Long> expected = expenseRepository.saveAll(seeded).stream()
+                .sorted(Comparator.comparing(Expense::getDateSubmitted).thenComparing(Expense::getId).reversed())
+                .map(Expense::getId)
+                .toList();
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = page(department, cursor);
+            page.get("items").forEach(item -> visited.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(visited).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        Department department = departmentRepository.save(
+                new Department(null, "Paging-Malformed", Money.of("1000.00"), Money.ZERO));
+        String wellFormed = new ExpenseCursor(LocalDate.now(), 1L).encode();
+
+        for (String cursor : List.of("not a cursor", "bm8tc2VwYXJhdG9y", "MjAyNC0xMy0wMXwx", wellFormed + "x")) {
+            mockMvc.perform(get("/api/expenses/department/{id}", department.getId()).param("cursor", cursor))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Invalid cursor: " + cursor));
+        }
+    }
+
+    private JsonNode page(Department department, String cursor) throws Exception {
+        var request = get("/api/expenses/department/{id}", department.getId()).param("size", "3");
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private Expense expense(Department department, LocalDate dateSubmitted) {
+        User submitter = userRepository.findByUsername("employee").orElseThrow();
+        Expense expense = new Expense();
+        expense.setTitle("Paging " + dateSubmitted);
+        expense.setAmount(Money.of("1.00"));
+        expense.setCategory(ExpenseCategory.MEALS);
+        expense.setSubmittedBy(submitter);
+        expense.setDepartment(department);
+        expense.setDateSubmitted(dateSubmitted);
+        return expense;
+    }
+}
@@ -0,0 +1,148 @@
+package com.fintech.enterprise.controller;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.service.BudgetOverviewCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the read endpoints against N+1 regressions: each must cost a fixed number of SQL
+ * statements no matter how many departments and members exist.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ReadPathQueryCountTest {
+
+    private static final int DEPARTMENTS = 5;
+    private static final int MEMBERS_PER_DEPARTMENT = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BudgetOverviewCache budgetOverviewCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedDepartmentsWithMembers() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (userRepository.findByUsername("query-count-0-0").isPresent()) {
+            return;
+        }
+        for (int d = 0; d < DEPARTMENTS; d++) {
+            Department department = departmentRepository.save(
+                    new Department(null, "Query-Count-" + d, Money.of("10000.00"), Money.ZERO));
+            for (int m = 0; m < MEMBERS_PER_DEPARTMENT; m++) {
+                User user = new User(null, "query-count-" + d + "-" + m, "{noop}password", Role.EMPLOYEE);
+                user.setDepartment(department);
+                userRepository.save(user);
+            }
+        }
+    }
+
+    @Test
+    void departmentListLoadsMembersInOneStatement() throws Exception {
+        long statements = countStatements(() -> mockMvc.perform(get("/api/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Query-Count-2')].members[*].username",
+                        hasItems("query-count-2-0", "query-count-2-1", "query-count-2-2"))));
+
+        assertThat(statements).isEqualTo(2); // the ETag's watermark lookup, then the departments with their members
+    }
+
+    @Test
+    void departmentDetailLoadsMembersInOneStatement() throws Exception {
+        Long id = userRepository.findByUsername("query-count-1-0").orElseThrow().getDepartment().getId();
+
+        long statements = countStatements(() -> mockMvc.perform(get("/api/departments/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members[*].username", hasItems("query-count-1-0", "query-count-1-2"))));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void budgetOverviewIsASingleProjectionThenServedFromCache() throws Exception {
+        budgetOverviewCache.invalidate();
+
+        long coldStatements = countStatements(() -> mockMvc.perform(get("/api/departments/budget-overview"))
+                .andExpect(status().isOk()));
+        long warmStatements = countStatements(() -> mockMvc.perform(get("/api/departments/budget-overview"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].departmentName", hasItems("Query-Count-0", "Query-Count-4"))));
+
+        assertThat(coldStatements).isEqualTo(1);
+        assertThat(warmStatements).isZero();
+    }
+
+    @Test
+    void userListDoesNotLoadDepartments() throws Exception {
+        long statements = countStatements(() -> mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk()));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void expenseSubmissionLooksUpNothingOnceCachesAreWarm() throws Exception {
+        Long departmentId = userRepository.findByUsername("query-count-3-0").orElseThrow().getDepartment().getId();
+        String body = "{\"title\":\"Cache check\",\"amount\":12.50,\"category\":\"TRAVEL\",\"departmentId\":"
+                + departmentId + "}";
+
+        mockMvc.perform(post("/api/expenses/submit").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        statistics.clear();
+        mockMvc.perform(post("/api/expenses/submit").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.submittedBy.username").value("admin"))
+                .andExpect(jsonPath("$.department.id").value(departmentId));
+
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Department.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Expense.class.getName()).getInsertCount()).isEqualTo(1);
+    }
+
+    // Statistics are cleared right before the request is dispatched so only its statements count.
+    private long countStatements(ResultActionsSupplier request) throws Exception {
+        statistics.clear();
+        request.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @FunctionalInterface
+    private interface ResultActionsSupplier {
+        ResultActions get() throws Exception;
+    }
+}
@@ -0,0 +1,105 @@
+package com.fintech.enterprise.controller;
+
+import com.fintech.enterprise.config.SqlAccounting;
+import com.fintech.enterprise.config.SqlBudget;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the expense listings, whose three lazy associations are where N+1 patterns
+ * would creep in, and a check that the accounting itself spots one.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class SqlStatementBudgetTest {
+
+    private static final int SUBMITTERS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Department department;
+
+    @BeforeEach
+    void seedExpensesFromSeveralSubmitters() {
+        department = userRepository.findByUsername("sql-budget-0").map(User::getDepartment).orElse(null);
+        if (department != null) {
+            return;
+        }
+        department = departmentRepository.save(new Department(null, "Sql-Budget", Money.of("50000.00"), Money.ZERO));
+        for (int u = 0; u < SUBMITTERS; u++) {
+            User user = new User(null, "sql-budget-" + u, "{noop}password", Role.EMPLOYEE);
+            user.setDepartment(department);
+            userRepository.save(user);
+            for (int e = 0; e < 2; e++) {
+                Expense expense = new Expense();
+                expense.setTitle("Budget check " + u + "-" + e);
+                expense.setAmount(Money.of("10.00"));
+                expense.setCategory(ExpenseCategory.TRAVEL);
+                expense.setSubmittedBy(user);
+                expense.setDepartment(department);
+                expenseRepository.save(expense);
+            }
+        }
+    }
+
+    @Test
+    void expenseListingsRunAFixedNumberOfStatements() throws Exception {
+        // The page query plus the ETag's watermark lookup
+        SqlAccounting.Stats all = SqlBudget.assertAtMost(2, () -> mockMvc.perform(get("/api/expenses"))
+                .andExpect(status().isOk()));
+        SqlAccounting.Stats byDepartment = SqlBudget.assertAtMost(2, () -> mockMvc.perform(
+                        get("/api/expenses/department/{id}", department.getId()))
+                .andExpect(status().isOk()));
+
+        SqlBudget.assertNoRepeatedStatements(all, 2);
+        SqlBudget.assertNoRepeatedStatements(byDepartment, 2);
+        assertThat(byDepartment.rowsRead()).isEqualTo(SUBMITTERS * 2 + 1); // + the watermark sum
+    }
+
+    @Test
+    void touchingALazyAssociationPerRowIsReportedAsRepeated() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        SqlAccounting.Stats stats = SqlBudget.measure(() -> transaction.executeWithoutResult(status -> {
+            List<Expense> expenses = expenseRepository.findAll().stream()
+                    .filter(e -> e.getTitle().startsWith("Budget check "))
+                    .toList();
+            expenses.forEach(e -> e.getSubmittedBy().getUsername());
+        }));
+
+        assertThat(stats.repeatedStatements(SUBMITTERS).values()).containsExactly((long) SUBMITTERS);
+        assertThat(stats.statements()).isGreaterThanOrEqualTo(1 + SUBMITTERS);
+    }
+}
@@ -0,0 +1,137 @@
+package com.fintech.enterprise.controller;
+
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.service.AuthService;
+import com.fintech.enterprise.service.UserService;
+import com.jayway.jsonpath.JsonPath;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Access tokens authenticate from their claims alone; refresh tokens renew them until the password changes.
+ * Tokens that do not verify, or carry claims this build cannot read, get 401.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Test
+    void accessTokenAuthenticatesWithoutQueries() throws Exception {
+        String token = JsonPath.read(login("employee"), "$.token");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User employee = userRepository.findByUsername("employee").orElseThrow();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(employee.getId()))
+                .andExpect(jsonPath("$.username").value("employee"))
+                .andExpect(jsonPath("$.role").value("EMPLOYEE"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void usersMayViewOnlyTheirOwnProfile() throws Exception {
+        String token = JsonPath.read(login("manager"), "$.token");
+        Long managerId = userRepository.findByUsername("manager").orElseThrow().getId();
+        Long adminId = userRepository.findByUsername("admin").orElseThrow().getId();
+
+        mockMvc.perform(get("/api/users/" + managerId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("manager"));
+        mockMvc.perform(get("/api/users/" + adminId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void refreshRenewsUntilThePasswordChanges() throws Exception {
+        User user = authService.register("token-rotation", "password", Role.EMPLOYEE);
+        String tokens = login("token-rotation");
+        String accessToken = JsonPath.read(tokens, "$.token");
+        String refreshToken = JsonPath.read(tokens, "$.refreshToken");
+
+        String renewed = mockMvc.perform(refresh(refreshToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expiresIn").value(900))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + JsonPath.read(renewed, "$.token")))
+                .andExpect(status().isOk());
+        mockMvc.perform(refresh(accessToken))
+                .andExpect(status().isBadRequest());
+
+        User passwordChange = new User();
+        passwordChange.setPassword("changed");
+        userService.updateUser(user.getId(), passwordChange);
+        mockMvc.perform(refresh(refreshToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    // A token that verifies but names a role this build does not know is rejected like any invalid token
+    @Test
+    void unknownRoleClaimIsUnauthorized() throws Exception {
+        User employee = userRepository.findByUsername("employee").orElseThrow();
+        String token = Jwts.builder()
+                .setSubject(employee.getUsername())
+                .claim("typ", "access")
+                .claim("uid", employee.getId())
+                .claim("roles", List.of("AUDITOR"))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String login(String username) throws Exception {
+        return mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static RequestBuilder refresh(String refreshToken) {
+        return post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}");
+    }
+}
@@ -0,0 +1,85 @@
+package com.fintech.enterprise.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.enterprise.config.MoneyModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    // Property: for any amounts, Money gives exactly (value and scale) what the BigDecimal code gave
+    @Test
+    void arithmeticMatchesTheBigDecimalResults() {
+        Random random = new Random(20);
+        for (int i = 0; i < 200_000; i++) {
+            long wholeCents = 1 + nextCents(random);
+            long partCents = random.nextBoolean() ? nextCents(random) : -nextCents(random);
+            if (i % 10 == 0) { // exact ties of the 4th ratio decimal
+                wholeCents = 20_000;
+                partCents = (random.nextInt(2_000_001) - 1_000_000) * 2L + 1;
+            }
+            Money whole = Money.ofMinor(wholeCents);
+            Money part = Money.ofMinor(partCents);
+            BigDecimal decimalWhole = BigDecimal.valueOf(wholeCents, 2);
+            BigDecimal decimalPart = BigDecimal.valueOf(partCents, 2);
+
+            assertThat(part.percentOf(whole))
+                    .isEqualTo(decimalPart.divide(decimalWhole, 4, RoundingMode.HALF_UP).multiply(HUNDRED));
+            assertThat(whole.minus(part).toBigDecimal()).isEqualTo(decimalWhole.subtract(decimalPart));
+            assertThat(whole.plus(part).toBigDecimal()).isEqualTo(decimalWhole.add(decimalPart));
+            assertThat(whole.compareTo(part)).isEqualTo(decimalWhole.compareTo(decimalPart));
+            long count = 1 + random.nextInt(1000);
+            assertThat(part.dividedBy(count).toBigDecimal())
+                    .isEqualTo(decimalPart.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP));
+            assertThat(part.toString()).isEqualTo(decimalPart.toPlainString());
+        }
+    }
+
+    @Test
+    void hugeRatiosFallBackToExactDecimalMath() {
+        Money part = Money.ofMinor(Long.MAX_VALUE / 3);
+        Money whole = Money.ofMinor(7);
+        assertThat(part.percentOf(whole)).isEqualTo(part.toBigDecimal()
+                .divide(whole.toBigDecimal(), 4, RoundingMode.HALF_UP).multiply(HUNDRED));
+        assertThatThrownBy(() -> part.percentOf(Money.ZERO)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void extraDecimalsRoundHalfUpLikeTheColumns() {
+        assertThat(Money.of("10.005")).isEqualTo(Money.ofMinor(1001));
+        assertThat(Money.of("-10.005")).isEqualTo(Money.ofMinor(-1001));
+        assertThat(Money.of("7")).isEqualTo(Money.ofMinor(700));
+    }
+
+    @Test
+    void jsonIsAPlainNumberWithTwoDecimals() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new MoneyModule());
+
+        assertThat(mapper.writeValueAsString(Money.ofMinor(8550))).isEqualTo("85.50");
+        assertThat(mapper.writeValueAsString(Money.ofMinor(-5))).isEqualTo("-0.05");
+        assertThat(mapper.readValue("85.5", Money.class)).isEqualTo(Money.ofMinor(8550));
+        assertThat(mapper.readValue("\"12.345\"", Money.class)).isEqualTo(Money.ofMinor(1235));
+        assertThat(mapper.readValue("12", Money.class)).isEqualTo(Money.ofMinor(1200));
+        assertThatThrownBy(() -> mapper.readValue("\"twelve\"", Money.class))
+                .isInstanceOf(com.fasterxml.jackson.databind.exc.InvalidFormatException.class);
+    }
+
+    // Mostly realistic amounts, sometimes up to the range where the scaled ratio no longer fits a long
+    private static long nextCents(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(100);
+            case 1, 2 -> random.nextInt(100_000_000);
+            default -> random.nextLong(1L << 50);
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.fintech.enterprise.repository;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.service.ExpenseService;
+import com.fintech.enterprise.service.dto.ExpensePageDTO;
+import com.fintech.enterprise.service.dto.ExpenseQueryFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the multi-criteria expense query for the common access patterns and checks, with H2's EXPLAIN,
+ * that each one is answered from its composite index rather than a table scan.
+ */
+@SpringBootTest
+class ExpenseQueryPlanTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department department;
+    private User submitter;
+
+    @BeforeEach
+    void seedExpenses() {
+        submitter = userRepository.findByUsername("employee").orElseThrow();
+        department = departmentRepository.findAll().stream()
+                .filter(existing -> existing.getName().equals("Query-Plan"))
+                .findFirst().orElse(null);
+        if (department != null) {
+            return;
+        }
+        department = departmentRepository.save(
+                new Department(null, "Query-Plan", Money.of("100000.00"), Money.ZERO));
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Expense expense = new Expense();
+            expense.setTitle("Plan " + i);
+            expense.setAmount(Money.ofMinor((10 + i) * 100L));
+            expense.setCategory(i % 2 == 0 ? ExpenseCategory.TRAVEL : ExpenseCategory.MEALS);
+            expense.setStatus(i % 3 == 0 ? ExpenseStatus.APPROVED : ExpenseStatus.PENDING);
+            expense.setDateSubmitted(START.plusDays(i));
+            expense.setSubmittedBy(submitter);
+            expense.setDepartment(department);
+            expenses.add(expense);
+        }
+        expenseRepository.saveAll(expenses);
+    }
+
+    @Test
+    void departmentStatusAndDateRangeUseTheDepartmentIndex() {
+        String plan = explain(filter(f -> {
+            f.setDepartmentId(department.getId());
+            f.setStatus(ExpenseStatus.PENDING);
+            f.setFrom(START);
+            f.setTo(START.plusDays(30));
+        }));
+
+        assertThat(plan).contains("idx_expense_department_status_date");
+    }
+
+    @Test
+    void departmentOnlyQueryAvoidsATableScan() {
+        // H2 may pick its own foreign-key index here; PostgreSQL has none and uses the composite one
+        assertThat(explain(filter(f -> f.setDepartmentId(department.getId()))))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void submitterAndDateRangeUseTheUserIndex() {
+        String plan = explain(filter(f -> {
+            f.setSubmittedById(submitter.getId());
+            f.setFrom(START);
+            f.setMinAmount(new BigDecimal("20"));
+        }));
+
+        assertThat(plan).contains("idx_expense_user_date");
+    }
+
+    @Test
+    void categoryListingUsesTheCategoryIndex() {
+        assertThat(explain(filter(f -> f.setCategory(ExpenseCategory.MEALS))))
+                .contains("idx_expense_category_date");
+    }
+
+    @Test
+    void criteriaAreCombinedAndPagedNewestFirst() {
+        ExpenseQueryFilter filter = filter(f -> {
+            f.setDepartmentId(department.getId());
+            f.setCategory(ExpenseCategory.TRAVEL);
+            f.setStatus(ExpenseStatus.PENDING);
+            f.setFrom(START.plusDays(10));
+            f.setTo(START.plusDays(40));
+            f.setMinAmount(new BigDecimal("25"));
+            f.setMaxAmount(new BigDecimal("45"));
+        });
+
+        ExpensePageDTO first = expenseService.queryExpenses(filter, null, 3);
+        ExpensePageDTO second = expenseService.queryExpenses(filter, first.getNextCursor(), 3);
+
+        // Even i in 15..35 that are not multiples of 3 (those are APPROVED): 34, 32, 28 | 26, 22, 20
+        assertThat(Stream.concat(first.getItems().stream(), second.getItems().stream()).map(Expense::getTitle))
+                .containsExactly("Plan 34", "Plan 32", "Plan 28", "Plan 26", "Plan 22", "Plan 20");
+    }
+
+    private String explain(ExpenseQueryFilter filter) {
+        List<String> statements = CapturingStatementInspector.capture(
+                () -> expenseService.queryExpenses(filter, null, 20));
+        assertThat(statements).hasSize(1);
+        return jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class);
+    }
+
+    private static ExpenseQueryFilter filter(Consumer<ExpenseQueryFilter> criteria) {
+        ExpenseQueryFilter filter = new ExpenseQueryFilter();
+        criteria.accept(filter);
+        return filter;
+    }
+}
@@ -0,0 +1,49 @@
+package com.fintech.enterprise.security;
+
+import com.fintech.enterprise.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginRateLimiter limiter = new LoginRateLimiter(3, 6, 1000, meterRegistry, now::get);
+
+    @Test
+    void allowsTheBurstThenRefusesUntilATokenRefills() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("10.0.0.1");
+        }
+        assertThatThrownBy(() -> limiter.acquire("10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting(e -> ((TooManyRequestsException) e).getRetryAfterSeconds())
+                .isEqualTo(10L); // 6 per minute: one token every 10 seconds
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.acquire("10.0.0.1");
+        assertThatThrownBy(() -> limiter.acquire("10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("fintrack.auth.rejected").tag("reason", "rate_limited").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void clientsHaveSeparateBucketsThatRefillOnlyUpToTheBurst() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("10.0.0.1");
+        }
+        limiter.acquire("10.0.0.2");
+
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("10.0.0.1");
+        }
+        assertThatThrownBy(() -> limiter.acquire("10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+    }
+}
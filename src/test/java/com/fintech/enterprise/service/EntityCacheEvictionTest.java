@@ -0,0 +1,82 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.Role;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The department and user caches must never serve a row that a committed write has changed.
+ */
+@SpringBootTest
+class EntityCacheEvictionTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void departmentEditsAreVisibleToCachedLookups() {
+        Department department = departmentRepository.save(
+                new Department(null, "Cache-Edit", Money.of("1000.00"), Money.ZERO));
+        assertThat(departmentService.lookupDepartment(department.getId())).isPresent();
+        assertThat(departmentService.lookupDepartment(department.getId())).isPresent();
+
+        Department change = new Department();
+        change.setYearlyBudget(Money.of("2500.00"));
+        departmentService.updateDepartment(department.getId(), change);
+
+        assertThat(departmentService.lookupDepartment(department.getId()).orElseThrow().getYearlyBudget())
+                .isEqualTo(Money.of("2500.00"));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "departments").tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("fintrack.cache.invalidations").tag("cache", "departments")
+                .counter().count()).isPositive();
+
+        departmentService.deleteDepartment(department.getId());
+        assertThat(departmentService.lookupDepartment(department.getId())).isEmpty();
+    }
+
+    @Test
+    void membershipAndUserChangesAreVisibleToCachedLookups() {
+        Department department = departmentRepository.save(
+                new Department(null, "Cache-Members", Money.of("1000.00"), Money.ZERO));
+        User user = userService.createUser(new User(null, "cache-member", "password", Role.EMPLOYEE));
+        assertThat(userService.findUserById(user.getId()).orElseThrow().getDepartment()).isNull();
+        assertThat(userService.findByUsername("cache-member").orElseThrow().getDepartment()).isNull();
+
+        departmentService.addMemberToDepartment(department.getId(), user.getId());
+        assertThat(userService.findUserById(user.getId()).orElseThrow().getDepartment().getId())
+                .isEqualTo(department.getId());
+        assertThat(userService.findByUsername("cache-member").orElseThrow().getDepartment().getId())
+                .isEqualTo(department.getId());
+
+        departmentService.removeMemberFromDepartment(department.getId(), user.getId());
+        assertThat(userService.findUserById(user.getId()).orElseThrow().getDepartment()).isNull();
+
+        User rename = new User();
+        rename.setUsername("cache-member-renamed");
+        rename.setRole(Role.MANAGER);
+        userService.updateUser(user.getId(), rename);
+        assertThat(userService.findUserById(user.getId()).orElseThrow().getRole()).isEqualTo(Role.MANAGER);
+        assertThat(userService.findByUsername("cache-member")).isEmpty();
+        assertThat(userService.findByUsername("cache-member-renamed")).isPresent();
+
+        userService.deleteUser(user.getId());
+        assertThat(userService.findUserById(user.getId())).isEmpty();
+        assertThat(userService.findByUsername("cache-member-renamed")).isEmpty();
+    }
+}
@@ -0,0 +1,138 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpenseAnalyticsStoreTest {
+
+    private final ExpenseAnalyticsStore store = new ExpenseAnalyticsStore(1, Integer.MAX_VALUE);
+
+    @Test
+    void groupsByAnyDimensionsUnderFilters() {
+        store.rebuild(Stream.of(
+                row(1L, 10L, 100L, ExpenseCategory.TRAVEL, ExpenseStatus.APPROVED, "2025-01-05", 1_000),
+                row(2L, 10L, 100L, ExpenseCategory.TRAVEL, ExpenseStatus.APPROVED, "2025-01-20", 3_000),
+                row(3L, 10L, 101L, ExpenseCategory.MEALS, ExpenseStatus.PENDING, "2025-02-01", 500),
+                row(4L, 20L, 200L, ExpenseCategory.TRAVEL, ExpenseStatus.APPROVED, "2025-02-03", 7_000)));
+
+        assertThat(store.aggregate(ExpenseAnalyticsStore.Criteria.ALL, Set.of())).containsExactly(
+                new ExpenseAnalyticsStore.Group(null, null, null, null, null, 4, 11_500, 500, 7_000));
+        assertThat(store.aggregate(ExpenseAnalyticsStore.Criteria.ALL,
+                EnumSet.of(ExpenseAnalyticsStore.Dimension.DEPARTMENT, ExpenseAnalyticsStore.Dimension.MONTH)))
+                .containsExactly(
+                        new ExpenseAnalyticsStore.Group(10L, null, null, null, YearMonth.of(2025, 1), 2, 4_000, 1_000, 3_000),
+                        new ExpenseAnalyticsStore.Group(10L, null, null, null, YearMonth.of(2025, 2), 1, 500, 500, 500),
+                        new ExpenseAnalyticsStore.Group(20L, null, null, null, YearMonth.of(2025, 2), 1, 7_000, 7_000, 7_000));
+
+        ExpenseAnalyticsStore.Criteria approvedTravelFromJan20 = new ExpenseAnalyticsStore.Criteria(null, null,
+                ExpenseCategory.TRAVEL, ExpenseStatus.APPROVED, LocalDate.parse("2025-01-20"), null, null, 5_000L);
+        assertThat(store.aggregate(approvedTravelFromJan20, EnumSet.of(ExpenseAnalyticsStore.Dimension.USER)))
+                .containsExactly(new ExpenseAnalyticsStore.Group(null, 100L, null, null, null, 1, 3_000, 3_000, 3_000));
+        assertThat(store.aggregate(new ExpenseAnalyticsStore.Criteria(99L, null, null, null, null, null, null, null),
+                Set.of())).isEmpty();
+    }
+
+    @Test
+    void percentilesMatchTheNearestRankOfTheSortedAmounts() {
+        Random random = new Random(42);
+        long[] amounts = IntStream.range(0, 5_000)
+                .mapToLong(i -> i % 10 == 0 ? random.nextInt(100) : (long) (Math.exp(random.nextDouble() * 16)))
+                .toArray();
+        store.rebuild(IntStream.range(0, amounts.length).mapToObj(i -> row((long) i, 10L, 100L,
+                ExpenseCategory.TRAVEL, ExpenseStatus.PENDING, "2025-03-01", amounts[i])));
+
+        double[] percentiles = {0, 1, 50, 90, 99, 99.9, 100};
+        ExpenseAnalyticsStore.Percentiles result = store.percentiles(ExpenseAnalyticsStore.Criteria.ALL, percentiles);
+
+        long[] sorted = amounts.clone();
+        Arrays.sort(sorted);
+        assertThat(result.matched()).isEqualTo(amounts.length);
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = Math.max(1, (int) Math.ceil(percentiles[i] / 100 * sorted.length));
+            assertThat(result.cents()[i]).as("p" + percentiles[i]).isEqualTo(sorted[rank - 1]);
+        }
+        assertThatThrownBy(() -> store.percentiles(ExpenseAnalyticsStore.Criteria.ALL, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void staleVersionsAreIgnoredAndRemovedExpensesAreNotResurrected() {
+        store.index(List.of(expense(1L, 0, ExpenseStatus.PENDING, "10.00"), expense(2L, 0, ExpenseStatus.PENDING, "20.00")));
+        store.index(List.of(expense(1L, 2, ExpenseStatus.APPROVED, "15.00")));
+        store.index(List.of(expense(1L, 1, ExpenseStatus.DENIED, "90.00"))); // committed earlier, applied late
+        SimulatedTransaction lateUpdate = SimulatedTransaction.open(
+                () -> store.index(List.of(expense(2L, 5, ExpenseStatus.PENDING, "20.00"))));
+        store.remove(List.of(2L));
+        lateUpdate.commit(); // committed before the delete, applied after it
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.aggregate(ExpenseAnalyticsStore.Criteria.ALL, EnumSet.of(ExpenseAnalyticsStore.Dimension.STATUS)))
+                .containsExactly(new ExpenseAnalyticsStore.Group(null, null, null, ExpenseStatus.APPROVED, null,
+                        1, 1_500, 1_500, 1_500));
+    }
+
+    @Test
+    void parallelScansAgreeWithSerialScans() {
+        ExpenseAnalyticsStore parallel = new ExpenseAnalyticsStore(4, 1);
+        try {
+            Random random = new Random(7);
+            List<ExpenseAnalyticsStore.Row> rows = IntStream.range(0, 200_000)
+                    .mapToObj(i -> row((long) i, 1L + random.nextInt(5), 100L + random.nextInt(300),
+                            ExpenseCategory.values()[random.nextInt(ExpenseCategory.values().length)],
+                            ExpenseStatus.values()[random.nextInt(ExpenseStatus.values().length)],
+                            LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700)).toString(),
+                            random.nextInt(1_000_000)))
+                    .toList();
+            store.rebuild(rows.stream());
+            parallel.rebuild(rows.stream());
+
+            ExpenseAnalyticsStore.Criteria criteria = new ExpenseAnalyticsStore.Criteria(null, null, null,
+                    ExpenseStatus.APPROVED, LocalDate.parse("2024-06-01"), null, 10_000L, null);
+            Set<ExpenseAnalyticsStore.Dimension> groupBy = EnumSet.of(
+                    ExpenseAnalyticsStore.Dimension.DEPARTMENT, ExpenseAnalyticsStore.Dimension.MONTH);
+            assertThat(parallel.aggregate(criteria, groupBy)).isEqualTo(store.aggregate(criteria, groupBy));
+            assertThat(parallel.percentiles(criteria, 50, 99).cents())
+                    .isEqualTo(store.percentiles(criteria, 50, 99).cents());
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    private static Expense expense(Long id, long version, ExpenseStatus status, String amount) {
+        Expense expense = new Expense();
+        expense.setId(id);
+        expense.setVersion(version);
+        expense.setAmount(Money.of(amount));
+        expense.setCategory(ExpenseCategory.TRAVEL);
+        expense.setStatus(status);
+        expense.setDateSubmitted(LocalDate.parse("2025-01-05"));
+        expense.setDepartment(new Department(10L, "Analytics", Money.of("1000.00"), Money.ZERO));
+        User user = new User();
+        user.setId(100L);
+        expense.setSubmittedBy(user);
+        return expense;
+    }
+
+    private static ExpenseAnalyticsStore.Row row(Long id, Long departmentId, Long userId, ExpenseCategory category,
+                                                 ExpenseStatus status, String date, long cents) {
+        return new ExpenseAnalyticsStore.Row(id, 0, departmentId, userId, category, status, LocalDate.parse(date), cents);
+    }
+}
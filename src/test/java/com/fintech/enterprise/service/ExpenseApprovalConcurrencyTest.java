@@ -0,0 +1,174 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.exception.ConcurrentUpdateException;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ExpenseApprovalConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentApprovalsAddUpExactly() throws Exception {
+        Department department = departmentRepository.save(
+                new Department(null, "Concurrency-Exact", Money.of("1000000.00"), Money.ZERO));
+        List<Long> ids = createPendingExpenses(department, 2000, Money.of("12.34"));
+
+        int approved = approveConcurrently(ids);
+
+        assertThat(approved).isEqualTo(2000);
+        assertThat(departmentRepository.findById(department.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.of("24680.00"));
+    }
+
+    @Test
+    void approvalsBeyondYearlyBudgetAreRejected() throws Exception {
+        Department department = departmentRepository.save(
+                new Department(null, "Concurrency-Capped", Money.of("500.00"), Money.ZERO));
+        List<Long> ids = createPendingExpenses(department, 1000, Money.of("1.00"));
+
+        int approved = approveConcurrently(ids);
+
+        assertThat(approved).isEqualTo(500);
+        assertThat(departmentRepository.findById(department.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.of("500.00"));
+        long stillPending = ids.stream()
+                .map(id -> expenseRepository.findById(id).orElseThrow().getStatus())
+                .filter(status -> status == ExpenseStatus.PENDING)
+                .count();
+        assertThat(stillPending).isEqualTo(500);
+    }
+
+    @Test
+    void racingReviewersChargeAnExpenseOnlyOnce() throws Exception {
+        Department department = departmentRepository.save(
+                new Department(null, "Concurrency-Double", Money.of("1000.00"), Money.ZERO));
+        List<Long> ids = createPendingExpenses(department, 20, Money.of("10.00"));
+        List<Long> contended = new ArrayList<>();
+        for (Long id : ids) {
+            for (int i = 0; i < 8; i++) {
+                contended.add(id);
+            }
+        }
+
+        int approved = approveConcurrently(contended);
+
+        assertThat(approved).isEqualTo(20);
+        assertThat(departmentRepository.findById(department.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.of("200.00"));
+    }
+
+    @Test
+    void budgetEditsDoNotOverwriteConcurrentSpend() throws Exception {
+        Department department = departmentRepository.save(
+                new Department(null, "Concurrency-Edit", Money.of("100000.00"), Money.ZERO));
+        List<Long> ids = createPendingExpenses(department, 300, Money.of("5.00"));
+
+        ExecutorService editor = Executors.newSingleThreadExecutor();
+        AtomicBoolean done = new AtomicBoolean();
+        Future<Integer> edits = editor.submit(() -> {
+            int applied = 0;
+            for (int i = 0; !done.get(); i++) {
+                Department change = new Department();
+                change.setYearlyBudget(Money.of(i % 2 == 0 ? "100000.00" : "100001.00"));
+                try {
+                    departmentService.updateDepartment(department.getId(), change);
+                    applied++;
+                } catch (ConcurrentUpdateException retriesExhausted) {
+                    // surfaced as 409; what matters is that it never clobbers spentAmount
+                }
+            }
+            return applied;
+        });
+        int approved;
+        try {
+            approved = approveConcurrently(ids);
+        } finally {
+            done.set(true);
+            editor.shutdown();
+        }
+
+        assertThat(edits.get()).isPositive();
+        assertThat(approved).isEqualTo(300);
+        assertThat(departmentRepository.findById(department.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.of("1500.00"));
+    }
+
+    private List<Long> createPendingExpenses(Department department, int count, Money amount) {
+        User submitter = userRepository.findByUsername("employee").orElseThrow();
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Expense expense = new Expense();
+            expense.setTitle("Expense " + i);
+            expense.setAmount(amount);
+            expense.setCategory(ExpenseCategory.OFFICE_SUPPLIES);
+            expense.setSubmittedBy(submitter);
+            expense.setDepartment(department);
+            expenses.add(expense);
+        }
+        return expenseRepository.saveAll(expenses).stream().map(Expense::getId).toList();
+    }
+
+    private int approveConcurrently(List<Long> ids) throws Exception {
+        AtomicInteger approved = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long id : ids) {
+                futures.add(pool.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                            "manager", null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))));
+                    try {
+                        expenseService.approveExpense(id);
+                        approved.incrementAndGet();
+                    } catch (IllegalStateException budgetExceededOrAlreadyReviewed) {
+                        // expected once the yearly budget is used up, or when another reviewer won the race
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return approved.get();
+    }
+}
@@ -0,0 +1,242 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.service.dto.BulkReviewItemDTO;
+import com.fintech.enterprise.service.dto.BulkReviewResultDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ExpenseBulkReviewTest {
+
+    private static final String OVER_BUDGET = "Approving this expense would exceed the department's yearly budget.";
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void outcomesAreReportedPerIdAndOnlyOverBudgetItemsAreSkipped() {
+        Department department = departmentRepository.save(
+                new Department(null, "Bulk-Review-Mixed", Money.of("100.00"), Money.ZERO));
+        Long a = pending(department, "30.00");
+        Long b = pending(department, "50.00");
+        Long c = pending(department, "40.00"); // 30 + 50 + 40 would overrun the 100 budget
+        Long d = pending(department, "10.00"); // still fits after c is skipped
+        Long reviewed = pending(department, "5.00");
+        Expense denied = expenseRepository.findById(reviewed).orElseThrow();
+        denied.setStatus(ExpenseStatus.DENIED);
+        expenseRepository.save(denied);
+        Long missing = Long.MAX_VALUE;
+
+        authenticateAsManager();
+        BulkReviewResultDTO result = expenseService.reviewExpenses(
+                Arrays.asList(a, reviewed, missing, b, null, c, d, a), ExpenseStatus.APPROVED);
+
+        assertThat(result.getReviewed()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getResults()).extracting(BulkReviewItemDTO::getExpenseId)
+                .containsExactly(a, reviewed, missing, b, c, d); // request order, nulls and repeats dropped
+        assertThat(result.getResults()).extracting(BulkReviewItemDTO::getStatus).containsExactly(
+                ExpenseStatus.APPROVED, null, null, ExpenseStatus.APPROVED, null, ExpenseStatus.APPROVED);
+        assertThat(result.getResults()).extracting(BulkReviewItemDTO::getError).containsExactly(
+                null, "Expense has already been reviewed.", "Expense not found with ID: " + missing,
+                null, OVER_BUDGET, null);
+
+        assertThat(departmentRepository.findById(department.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.of("90.00"));
+        assertThat(statusOf(c)).isEqualTo(ExpenseStatus.PENDING);
+        assertThat(statusOf(reviewed)).isEqualTo(ExpenseStatus.DENIED);
+        Expense approved = expenseRepository.findById(d).orElseThrow();
+        assertThat(approved.getStatus()).isEqualTo(ExpenseStatus.APPROVED);
+        assertThat(approved.getDateReviewed()).isNotNull();
+    }
+
+    @Test
+    void denialsIgnoreTheBudget() {
+        Department department = departmentRepository.save(
+                new Department(null, "Bulk-Review-Deny", Money.of("1.00"), Money.ZERO));
+        Long big = pending(department, "500.00");
+        Long small = pending(department, "0.50");
+
+        authenticateAsManager();
+        BulkReviewResultDTO result = expenseService.reviewExpenses(List.of(big, small), ExpenseStatus.DENIED);
+
+        assertThat(result.getReviewed()).isEqualTo(2);
+        assertThat(statusOf(big)).isEqualTo(ExpenseStatus.DENIED);
+        assertThat(departmentRepository.findById(department.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.ZERO);
+    }
+
+    // A single approval holds its department row from the spend UPDATE until it writes the expense. A batch over
+    // that department must queue on the department before locking any expense: locking expenses first would hold
+    // the row the approval is about to write while waiting for the approval's department lock, i.e. deadlock.
+    @Test
+    void bulkReviewQueuesOnTheDepartmentBeforeLockingExpenses() throws Exception {
+        Department department = departmentRepository.save(
+                new Department(null, "Bulk-Review-Order", Money.of("1000.00"), Money.ZERO));
+        Long single = pending(department, "25.00");
+        Long other = pending(department, "5.00");
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch departmentLocked = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> approval = pool.submit(() -> transaction.executeWithoutResult(status -> {
+                assertThat(departmentRepository.addSpentAmount(department.getId(), Money.of("25.00"))).isEqualTo(1);
+                departmentLocked.countDown();
+                sleep(500); // the batch below is now waiting for this department row
+                Expense expense = expenseRepository.findById(single).orElseThrow();
+                expense.setStatus(ExpenseStatus.APPROVED);
+                expense.setReviewedBy(manager);
+                expenseRepository.saveAndFlush(expense);
+            }));
+            departmentLocked.await();
+            Future<Integer> batch = pool.submit(asManager(() ->
+                    expenseService.reviewExpenses(List.of(single, other), ExpenseStatus.APPROVED).getReviewed()));
+
+            approval.get(10, TimeUnit.SECONDS);
+            assertThat(batch.get(10, TimeUnit.SECONDS)).isEqualTo(1); // single was approved first
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(statusOf(other)).isEqualTo(ExpenseStatus.APPROVED);
+        assertThat(departmentRepository.findById(department.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.of("30.00"));
+    }
+
+    // Batches spanning two departments in shuffled order race each other and single approvals; every expense is
+    // approved and charged exactly once.
+    @Test
+    void overlappingBatchesAndSingleApprovalsChargeEachExpenseOnce() throws Exception {
+        Department first = departmentRepository.save(
+                new Department(null, "Bulk-Review-Lock-1", Money.of("100000.00"), Money.ZERO));
+        Department second = departmentRepository.save(
+                new Department(null, "Bulk-Review-Lock-2", Money.of("100000.00"), Money.ZERO));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(pending(first, "1.00"));
+            ids.add(pending(second, "2.00"));
+        }
+
+        Random random = new Random(42);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int batch = 0; batch < 12; batch++) {
+            List<Long> shuffled = new ArrayList<>(ids);
+            Collections.shuffle(shuffled, random);
+            List<Long> subset = shuffled.subList(0, 30);
+            tasks.add(asManager(() -> expenseService.reviewExpenses(subset, ExpenseStatus.APPROVED).getReviewed()));
+        }
+        for (Long id : ids) {
+            tasks.add(asManager(() -> {
+                try {
+                    expenseService.approveExpense(id);
+                    return 1;
+                } catch (IllegalStateException alreadyReviewed) {
+                    return 0;
+                }
+            }));
+        }
+        Collections.shuffle(tasks, random);
+
+        int approved = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Integer> future : pool.invokeAll(tasks)) {
+                approved += future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(approved).isEqualTo(ids.size());
+        assertThat(ids).allSatisfy(id -> assertThat(statusOf(id)).isEqualTo(ExpenseStatus.APPROVED));
+        assertThat(departmentRepository.findById(first.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.of("40.00"));
+        assertThat(departmentRepository.findById(second.getId()).orElseThrow().getSpentAmount())
+                .isEqualTo(Money.of("80.00"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ExpenseStatus statusOf(Long id) {
+        return expenseRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    private Long pending(Department department, String amount) {
+        User submitter = userRepository.findByUsername("employee").orElseThrow();
+        Expense expense = new Expense();
+        expense.setTitle("Bulk review " + amount);
+        expense.setAmount(Money.of(amount));
+        expense.setCategory(ExpenseCategory.OFFICE_SUPPLIES);
+        expense.setSubmittedBy(submitter);
+        expense.setDepartment(department);
+        return expenseRepository.save(expense).getId();
+    }
+
+    private static Callable<Integer> asManager(Callable<Integer> task) {
+        return () -> {
+            authenticateAsManager();
+            try {
+                return task.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private static void authenticateAsManager() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "manager", null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))));
+    }
+}
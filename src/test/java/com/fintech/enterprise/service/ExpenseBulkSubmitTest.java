@@ -0,0 +1,114 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.service.dto.BulkItemResultDTO;
+import com.fintech.enterprise.service.dto.BulkSubmitResultDTO;
+import com.fintech.enterprise.service.dto.ExpenseRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ExpenseBulkSubmitTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Value("${expense.bulk.max-items:5000}")
+    private int maxBulkItems;
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "employee", null, List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validItemsAreSavedAndInvalidOnesReportedAtTheirIndex() {
+        Department department = departmentRepository.save(
+                new Department(null, "Bulk-Mixed", Money.of("1000.00"), Money.ZERO));
+        Long missingDepartment = Long.MAX_VALUE;
+
+        BulkSubmitResultDTO result = expenseService.createExpenses(Arrays.asList(
+                item("Taxi", "12.50", ExpenseCategory.TRAVEL, department.getId()),
+                item(" ", "10.00", ExpenseCategory.TRAVEL, department.getId()),
+                item("Free lunch", "0.00", ExpenseCategory.MEALS, department.getId()),
+                null,
+                item("Pens", "3.20", ExpenseCategory.OFFICE_SUPPLIES, department.getId()),
+                item("No category", "5.00", null, department.getId()),
+                item("Elsewhere", "7.00", ExpenseCategory.MEALS, missingDepartment),
+                item("Dinner", "45.00", ExpenseCategory.MEALS, department.getId())));
+
+        assertThat(result.getSubmitted()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(5);
+        assertThat(result.getResults()).extracting(BulkItemResultDTO::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        assertThat(result.getResults()).extracting(BulkItemResultDTO::getError).containsExactly(
+                null,
+                "Title is required.",
+                "Amount must be positive.",
+                "Expense is missing.",
+                null,
+                "Category is required.",
+                "Department not found for ID: " + missingDepartment,
+                null);
+        assertThat(result.getResults()).allSatisfy(item ->
+                assertThat(item.getExpenseId() == null).isEqualTo(item.getError() != null));
+
+        // Each id belongs to the item at its index
+        assertThat(titleOf(result.getResults().get(0))).isEqualTo("Taxi");
+        assertThat(titleOf(result.getResults().get(4))).isEqualTo("Pens");
+        assertThat(titleOf(result.getResults().get(7))).isEqualTo("Dinner");
+        Expense saved = expenseRepository.findById(result.getResults().get(7).getExpenseId()).orElseThrow();
+        assertThat(saved.getStatus()).isEqualTo(ExpenseStatus.PENDING);
+        assertThat(saved.getAmount()).isEqualTo(Money.of("45.00"));
+    }
+
+    @Test
+    void submissionsOverTheLimitAreRejectedWhole() {
+        Department department = departmentRepository.save(
+                new Department(null, "Bulk-Limit", Money.of("1000.00"), Money.ZERO));
+        ExpenseRequestDTO item = item("Coffee", "2.00", ExpenseCategory.MEALS, department.getId());
+        long before = expenseRepository.count();
+
+        assertThatThrownBy(() -> expenseService.createExpenses(Collections.nCopies(maxBulkItems + 1, item)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A bulk submission may contain at most " + maxBulkItems + " expenses.");
+
+        assertThat(expenseRepository.count()).isEqualTo(before);
+    }
+
+    private String titleOf(BulkItemResultDTO item) {
+        return expenseRepository.findById(item.getExpenseId()).orElseThrow().getTitle();
+    }
+
+    private static ExpenseRequestDTO item(String title, String amount, ExpenseCategory category, Long departmentId) {
+        return new ExpenseRequestDTO(title, null, Money.of(amount), category, departmentId);
+    }
+}
@@ -0,0 +1,176 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseEvent;
+import com.fintech.enterprise.model.ExpenseEventType;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.model.User;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseEventRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.service.dto.ExpenseEventDTO;
+import com.fintech.enterprise.service.dto.ExpenseEventPageDTO;
+import com.fintech.enterprise.service.dto.ExpenseRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@RecordApplicationEvents
+class ExpenseEventOutboxTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private ExpenseEventService eventService;
+    @Autowired
+    private ExpenseEventRelay relay;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private ExpenseEventRepository eventRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void lifecycleChangesAreFedInOrderAndReachTheInJvmSink() {
+        Department department = departmentRepository.save(
+                new Department(null, "Outbox-Lifecycle", Money.of("1000.00"), Money.ZERO));
+        authenticateAs("employee", "ROLE_EMPLOYEE");
+        Expense expense = expenseService.createExpense(new ExpenseRequestDTO("Taxi", null, Money.of("20.00"),
+                ExpenseCategory.TRAVEL, department.getId()));
+        Expense changes = new Expense();
+        changes.setTitle("Taxi to airport");
+        changes.setAmount(Money.of("25.00"));
+        changes.setCategory(ExpenseCategory.TRAVEL);
+        expenseService.updateExpense(expense.getId(), changes);
+        authenticateAs("manager", "ROLE_MANAGER");
+        expenseService.approveExpense(expense.getId());
+        expenseService.deleteExpense(expense.getId());
+
+        assertThat(eventService.findEvents(0, department.getId(), null).getEvents()).isEmpty(); // not yet relayed
+        relay.publishPending();
+
+        ExpenseEventPageDTO page = eventService.findEvents(0, department.getId(), null);
+        assertThat(page.getEvents()).extracting(ExpenseEventDTO::getType).containsExactly(
+                ExpenseEventType.SUBMITTED, ExpenseEventType.UPDATED, ExpenseEventType.APPROVED, ExpenseEventType.DELETED);
+        assertThat(page.getEvents()).extracting(ExpenseEventDTO::getAmount).containsExactly(
+                Money.of("20.00"), Money.of("25.00"), Money.of("25.00"), Money.of("25.00"));
+        assertThat(page.getEvents()).extracting(ExpenseEventDTO::getPosition).isSorted().doesNotHaveDuplicates();
+        assertThat(page.getLastPosition()).isEqualTo(page.getEvents().get(3).getPosition());
+        assertThat(page.getEvents()).extracting(event -> eventRepository.findById(event.getEventId()).orElseThrow()
+                .getExpenseVersion()).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(eventService.findEvents(page.getLastPosition(), department.getId(), null).getEvents()).isEmpty();
+
+        assertThat(applicationEvents.stream(ExpenseEventDTO.class)
+                .filter(event -> event.getDepartmentId().equals(department.getId())))
+                .extracting(ExpenseEventDTO::getEventId)
+                .containsExactlyElementsOf(page.getEvents().stream().map(ExpenseEventDTO::getEventId).toList());
+    }
+
+    @Test
+    void rolledBackChangesLeaveNoEvents() {
+        Department department = departmentRepository.save(
+                new Department(null, "Outbox-Rollback", Money.of("10.00"), Money.ZERO));
+        authenticateAs("employee", "ROLE_EMPLOYEE");
+        Expense expense = expenseService.createExpense(new ExpenseRequestDTO("Laptop", null, Money.of("900.00"),
+                ExpenseCategory.OFFICE_SUPPLIES, department.getId()));
+        authenticateAs("manager", "ROLE_MANAGER");
+        assertThatThrownBy(() -> expenseService.approveExpense(expense.getId()))
+                .isInstanceOf(IllegalStateException.class); // over budget
+
+        relay.publishPending();
+
+        assertThat(eventService.findEvents(0, department.getId(), null).getEvents())
+                .extracting(ExpenseEventDTO::getType)
+                .containsExactly(ExpenseEventType.SUBMITTED);
+    }
+
+    @Test
+    void pagesFollowOnFromTheLastPosition() {
+        Department department = departmentRepository.save(
+                new Department(null, "Outbox-Pages", Money.of("1000.00"), Money.ZERO));
+        authenticateAs("employee", "ROLE_EMPLOYEE");
+        expenseService.createExpenses(List.of(
+                new ExpenseRequestDTO("A", null, Money.of("1.00"), ExpenseCategory.MEALS, department.getId()),
+                new ExpenseRequestDTO("B", null, Money.of("2.00"), ExpenseCategory.MEALS, department.getId()),
+                new ExpenseRequestDTO("C", null, Money.of("3.00"), ExpenseCategory.MEALS, department.getId())));
+        relay.publishPending();
+
+        ExpenseEventPageDTO first = eventService.findEvents(0, department.getId(), 2);
+        ExpenseEventPageDTO second = eventService.findEvents(first.getLastPosition(), department.getId(), 2);
+
+        assertThat(first.isMore()).isTrue();
+        assertThat(second.isMore()).isFalse();
+        assertThat(List.of(first.getEvents(), second.getEvents())).flatExtracting(events -> events)
+                .extracting(event -> ((ExpenseEventDTO) event).getAmount())
+                .containsExactly(Money.of("1.00"), Money.of("2.00"), Money.of("3.00"));
+    }
+
+    // Each instance draws its own block of event ids, so a change committed later can get the lower id; here the
+    // earlier change even lies beyond the first relay batch.
+    @Test
+    void eventsOfOneExpenseArePublishedInVersionOrderWhateverTheirIds() {
+        Department department = departmentRepository.save(
+                new Department(null, "Outbox-Order", Money.of("1000.00"), Money.ZERO));
+        User submitter = userRepository.findByUsername("employee").orElseThrow();
+        Instant now = Instant.now();
+        Expense approvedThenDeleted = expense(900_000_000L, 1, department, submitter);
+
+        ExpenseEvent deleted = eventRepository.save(ExpenseEvent.of(ExpenseEventType.DELETED, approvedThenDeleted, now));
+        eventRepository.saveAll(LongStream.range(0, batchSize)
+                .mapToObj(i -> ExpenseEvent.of(ExpenseEventType.SUBMITTED, expense(900_000_001L + i, 0, department, submitter), now))
+                .toList());
+        ExpenseEvent approved = eventRepository.save(ExpenseEvent.of(ExpenseEventType.APPROVED, approvedThenDeleted, now));
+        assertThat(deleted.getId()).isLessThan(approved.getId());
+
+        relay.publishPending();
+
+        assertThat(eventRepository.findById(approved.getId()).orElseThrow().getPosition())
+                .isLessThan(eventRepository.findById(deleted.getId()).orElseThrow().getPosition());
+    }
+
+    private static Expense expense(Long id, long version, Department department, User submitter) {
+        Expense expense = new Expense();
+        expense.setId(id);
+        expense.setVersion(version);
+        expense.setTitle("Outbox order");
+        expense.setAmount(Money.of("5.00"));
+        expense.setCategory(ExpenseCategory.MEALS);
+        expense.setStatus(ExpenseStatus.APPROVED);
+        expense.setDepartment(department);
+        expense.setSubmittedBy(submitter);
+        return expense;
+    }
+
+    private static void authenticateAs(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+}
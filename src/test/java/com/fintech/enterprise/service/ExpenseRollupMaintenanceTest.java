@@ -0,0 +1,235 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.config.SqlBudget;
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseRollup;
+import com.fintech.enterprise.model.ExpenseRollupKey;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.repository.DepartmentRepository;
+import com.fintech.enterprise.repository.ExpenseRepository;
+import com.fintech.enterprise.repository.ExpenseRollupRepository;
+import com.fintech.enterprise.repository.UserRepository;
+import com.fintech.enterprise.service.dto.BulkItemResultDTO;
+import com.fintech.enterprise.service.dto.ExpenseRequestDTO;
+import com.fintech.enterprise.service.dto.ExpenseRollupDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every expense write path keeps its (department, category, status, month) buckets equal to what the raw rows
+ * add up to, and a rebuild from the rows lands on the same state.
+ */
+@SpringBootTest
+class ExpenseRollupMaintenanceTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private ExpenseRollupService rollupService;
+    @Autowired
+    private ExpenseRollupRepository rollupRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Department department;
+
+    @BeforeEach
+    void startConsistent() {
+        // Other tests insert expenses straight through the repository, which bypasses the rollups
+        rollupService.rebuild();
+        department = departmentRepository.save(new Department(null, "Rollup-" + System.nanoTime(),
+                Money.of("1000.00"), Money.ZERO));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void singleExpenseLifecycleMovesAmountsBetweenBuckets() throws Exception {
+        authenticateAs("employee", "ROLE_EMPLOYEE");
+        Expense a = submit("Hotel", "30.00", ExpenseCategory.TRAVEL);
+        Expense b = submit("Train", "50.00", ExpenseCategory.TRAVEL);
+        Expense c = submit("Lunch", "20.00", ExpenseCategory.MEALS);
+        assertBucket(ExpenseCategory.TRAVEL, ExpenseStatus.PENDING, 2, "80.00", "50.00", b.getId());
+        assertBucket(ExpenseCategory.MEALS, ExpenseStatus.PENDING, 1, "20.00", "20.00", c.getId());
+
+        Expense edit = new Expense();
+        edit.setTitle("Hotel, two nights");
+        edit.setAmount(Money.of("70.00"));
+        edit.setCategory(ExpenseCategory.TRAVEL);
+        expenseService.updateExpense(a.getId(), edit);
+        assertBucket(ExpenseCategory.TRAVEL, ExpenseStatus.PENDING, 2, "120.00", "70.00", a.getId());
+
+        authenticateAs("manager", "ROLE_MANAGER");
+        expenseService.approveExpense(a.getId()); // a held the pending max: b takes over
+        assertBucket(ExpenseCategory.TRAVEL, ExpenseStatus.PENDING, 1, "50.00", "50.00", b.getId());
+        assertBucket(ExpenseCategory.TRAVEL, ExpenseStatus.APPROVED, 1, "70.00", "70.00", a.getId());
+
+        expenseService.denyExpense(b.getId(), userRepository.findByUsername("manager").orElseThrow().getId());
+        assertThat(bucket(ExpenseCategory.TRAVEL, ExpenseStatus.PENDING)).isEmpty();
+        assertBucket(ExpenseCategory.TRAVEL, ExpenseStatus.DENIED, 1, "50.00", "50.00", b.getId());
+
+        expenseService.deleteExpense(c.getId());
+        assertThat(bucket(ExpenseCategory.MEALS, ExpenseStatus.PENDING)).isEmpty();
+
+        assertThat(rollupService.checkConsistency()).isEmpty();
+        assertRebuildReproducesIncrementalState();
+    }
+
+    @Test
+    void removingTheTopExpenseHandsTheMaxToTheNextLargest() throws Exception {
+        authenticateAs("employee", "ROLE_EMPLOYEE");
+        List<BulkItemResultDTO> results = expenseService.createExpenses(List.of(
+                request("Desk", "40.00"),
+                request("Chair", "90.00"),
+                request("Monitor", "90.00"),
+                request("Cable", "10.00"),
+                request("Nothing", "0.00"))).getResults();
+        assertThat(results.get(4).getError()).isNotNull();
+        Long desk = results.get(0).getExpenseId();
+        Long chair = results.get(1).getExpenseId();
+        Long monitor = results.get(2).getExpenseId();
+        Long cable = results.get(3).getExpenseId();
+        // Ties on the max keep the lowest id
+        assertBucket(ExpenseCategory.OFFICE_SUPPLIES, ExpenseStatus.PENDING, 4, "230.00", "90.00", Math.min(chair, monitor));
+
+        authenticateAs("manager", "ROLE_MANAGER");
+        expenseService.deleteExpense(Math.min(chair, monitor));
+        assertBucket(ExpenseCategory.OFFICE_SUPPLIES, ExpenseStatus.PENDING, 3, "140.00", "90.00", Math.max(chair, monitor));
+
+        expenseService.reviewExpenses(List.of(Math.max(chair, monitor), desk), ExpenseStatus.APPROVED);
+        assertBucket(ExpenseCategory.OFFICE_SUPPLIES, ExpenseStatus.PENDING, 1, "10.00", "10.00", cable);
+        assertBucket(ExpenseCategory.OFFICE_SUPPLIES, ExpenseStatus.APPROVED, 2, "130.00", "90.00", Math.max(chair, monitor));
+
+        expenseService.reviewExpenses(List.of(cable), ExpenseStatus.DENIED);
+        assertThat(bucket(ExpenseCategory.OFFICE_SUPPLIES, ExpenseStatus.PENDING)).isEmpty();
+        assertBucket(ExpenseCategory.OFFICE_SUPPLIES, ExpenseStatus.DENIED, 1, "10.00", "10.00", cable);
+
+        assertThat(rollupService.checkConsistency()).isEmpty();
+        assertRebuildReproducesIncrementalState();
+    }
+
+    // Rows of one bucket submitted on different days of the month must still fall into a single group
+    @Test
+    void rebuildAndCheckGroupDaysOfOneMonthTogether() {
+        saveDirectly("Taxi", "12.00", LocalDate.of(2025, 3, 3));
+        saveDirectly("Ferry", "30.00", LocalDate.of(2025, 3, 28));
+        saveDirectly("Bus", "4.00", LocalDate.of(2025, 4, 1));
+
+        rollupService.rebuild();
+
+        assertThat(rollupService.checkConsistency()).isEmpty();
+        List<ExpenseRollupDTO> march = rollupService.findMonthlyRollups(YearMonth.of(2025, 3)).stream()
+                .filter(rollup -> rollup.getDepartmentId().equals(department.getId()))
+                .toList();
+        assertThat(march).hasSize(1);
+        assertThat(march.get(0).getExpenseCount()).isEqualTo(2);
+        assertThat(march.get(0).getTotalAmount()).isEqualTo(Money.of("42.00"));
+    }
+
+    // Equal amounts: count, total and max agree whichever of the two is recorded as the top expense
+    @Test
+    void checkReportsAWrongTopExpense() {
+        Long first = saveDirectly("Taxi", "25.00", LocalDate.of(2025, 5, 6));
+        Long second = saveDirectly("Shuttle", "25.00", LocalDate.of(2025, 5, 20));
+        rollupService.rebuild();
+        assertThat(rollupService.checkConsistency()).isEmpty();
+
+        ExpenseRollup rollup = rollupRepository.findById(new ExpenseRollupKey(department.getId(),
+                ExpenseCategory.TRAVEL, ExpenseStatus.PENDING, 202505)).orElseThrow();
+        assertThat(rollup.getTopExpenseId()).isEqualTo(Math.min(first, second));
+        rollup.setTopExpenseId(Math.max(first, second));
+        rollupRepository.save(rollup);
+
+        assertThat(rollupService.checkConsistency()).singleElement().satisfies(mismatch -> {
+            assertThat(mismatch.getDepartmentId()).isEqualTo(department.getId());
+            assertThat(mismatch.getActualCount()).isEqualTo(mismatch.getExpectedCount());
+            assertThat(mismatch.getActualMax()).isEqualTo(mismatch.getExpectedMax());
+            assertThat(mismatch.getExpectedTopExpenseId()).isEqualTo(Math.min(first, second));
+            assertThat(mismatch.getActualTopExpenseId()).isEqualTo(Math.max(first, second));
+        });
+    }
+
+    // Incremental maintenance keeps emptied buckets (count 0, no max); a rebuild only creates non-empty ones.
+    // The rebuild's statement count must not grow with the number of buckets.
+    private void assertRebuildReproducesIncrementalState() throws Exception {
+        Set<ExpenseRollup> incremental = nonEmptyRollups();
+        assertThat(incremental).hasSizeGreaterThanOrEqualTo(2);
+
+        SqlBudget.assertAtMost(3, () -> rollupService.rebuild());
+
+        assertThat(nonEmptyRollups()).isEqualTo(incremental);
+        assertThat(rollupService.checkConsistency()).isEmpty();
+    }
+
+    private Set<ExpenseRollup> nonEmptyRollups() {
+        return rollupRepository.findAll().stream()
+                .filter(rollup -> rollup.getExpenseCount() > 0)
+                .collect(Collectors.toSet());
+    }
+
+    private void assertBucket(ExpenseCategory category, ExpenseStatus status, long count, String total, String max,
+                              Long topExpenseId) {
+        ExpenseRollupDTO rollup = bucket(category, status).orElseThrow();
+        assertThat(rollup.getExpenseCount()).isEqualTo(count);
+        assertThat(rollup.getTotalAmount()).isEqualTo(Money.of(total));
+        assertThat(rollup.getMaxAmount()).isEqualTo(Money.of(max));
+        assertThat(rollup.getTopExpenseId()).isEqualTo(topExpenseId);
+    }
+
+    private Optional<ExpenseRollupDTO> bucket(ExpenseCategory category, ExpenseStatus status) {
+        return rollupService.findMonthlyRollups(YearMonth.now()).stream()
+                .filter(rollup -> rollup.getDepartmentId().equals(department.getId())
+                        && rollup.getCategory() == category && rollup.getStatus() == status)
+                .findFirst();
+    }
+
+    private Expense submit(String title, String amount, ExpenseCategory category) {
+        return expenseService.createExpense(new ExpenseRequestDTO(title, null, Money.of(amount), category,
+                department.getId()));
+    }
+
+    private Long saveDirectly(String title, String amount, LocalDate submitted) {
+        Expense expense = new Expense();
+        expense.setTitle(title);
+        expense.setAmount(Money.of(amount));
+        expense.setCategory(ExpenseCategory.TRAVEL);
+        expense.setDateSubmitted(submitted);
+        expense.setSubmittedBy(userRepository.findByUsername("employee").orElseThrow());
+        expense.setDepartment(department);
+        return expenseRepository.save(expense).getId();
+    }
+
+    private ExpenseRequestDTO request(String title, String amount) {
+        return new ExpenseRequestDTO(title, null, Money.of(amount), ExpenseCategory.OFFICE_SUPPLIES, department.getId());
+    }
+
+    private static void authenticateAs(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+}
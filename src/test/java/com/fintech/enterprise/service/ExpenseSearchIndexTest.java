@@ -0,0 +1,150 @@
+package com.fintech.enterprise.service;
+
+import com.fintech.enterprise.model.Department;
+import com.fintech.enterprise.model.Expense;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpenseSearchIndexTest {
+
+    private final ExpenseSearchIndex index = new ExpenseSearchIndex();
+
+    @Test
+    void ranksTitleMatchesAndRarerWordsHigher() {
+        index.index(List.of(
+                expense(1L, 0, "Office chairs", "Taxi to the furniture store"),
+                expense(2L, 0, "Taxi to the airport", "Client visit"),
+                expense(3L, 0, "Team lunch", "Pizza"),
+                expense(4L, 0, "Printer paper", "Office supplies")));
+
+        assertThat(ids(index.search("taxi", null, null, null, 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.search("office taxi", null, null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("taxi dinner", null, null, null, 10))).isEmpty();
+    }
+
+    @Test
+    void trailingStarMatchesByPrefix() {
+        index.index(List.of(
+                expense(1L, 0, "Travel", null),
+                expense(2L, 0, "Travelling salesman", null),
+                expense(3L, 0, "Trav", "exact word"),
+                expense(4L, 0, "Hotel", null)));
+
+        ExpenseSearchIndex.Hits hits = index.search("TRAV*", null, null, null, 10);
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(ids(hits).get(0)).isEqualTo(3L); // the exact word outranks the longer expansions
+        assertThat(ids(index.search("trav", null, null, null, 10))).containsExactly(3L);
+        assertThatThrownBy(() -> index.search("t*", null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search(" ?! ", null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void combinesWithDepartmentCategoryAndStatusFilters() {
+        Expense pendingTravel = expense(1L, 0, "Hotel Berlin", null);
+        Expense approvedTravel = expense(2L, 0, "Hotel Paris", null);
+        approvedTravel.setStatus(ExpenseStatus.APPROVED);
+        Expense otherDepartment = expense(3L, 0, "Hotel Rome", null);
+        otherDepartment.getDepartment().setId(20L);
+        Expense otherCategory = expense(4L, 0, "Hotel minibar", null);
+        otherCategory.setCategory(ExpenseCategory.MEALS);
+        index.index(List.of(pendingTravel, approvedTravel, otherDepartment, otherCategory));
+
+        assertThat(ids(index.search("hotel", 10L, ExpenseCategory.TRAVEL, ExpenseStatus.PENDING, 10)))
+                .containsExactly(1L);
+        assertThat(ids(index.search("hotel", 10L, null, null, 10))).containsExactlyInAnyOrder(1L, 2L, 4L);
+        assertThat(index.search("hotel", null, null, null, 2).total()).isEqualTo(4);
+        assertThat(index.search("hotel", null, null, null, 2).top()).hasSize(2);
+    }
+
+    @Test
+    void updatesReplaceOldWordsAndStaleVersionsAreIgnored() {
+        index.index(List.of(expense(1L, 0, "Taxi", null)));
+        index.index(List.of(expense(1L, 2, "Train ticket", null)));
+        index.index(List.of(expense(1L, 1, "Taxi again", null))); // committed earlier, applied late
+
+        assertThat(ids(index.search("taxi", null, null, null, 10))).isEmpty();
+        assertThat(ids(index.search("train", null, null, null, 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedExpensesDisappearAndAreNotResurrected() {
+        index.index(List.of(expense(1L, 0, "Taxi", null), expense(2L, 0, "Taxi", null)));
+        SimulatedTransaction update = SimulatedTransaction.open(() -> index.index(List.of(expense(1L, 5, "Taxi", null))));
+        index.remove(List.of(1L));
+        update.commit(); // committed before the delete, applied after it
+
+        assertThat(ids(index.search("taxi", null, null, null, 10))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    // Ids are never reused; indexing id 1 again only shows whether its tombstone is still there.
+    @Test
+    void tombstonesAreDroppedOnceNoEarlierTransactionIsOpen() {
+        index.index(List.of(expense(1L, 0, "Taxi", null)));
+        SimulatedTransaction open = SimulatedTransaction.open(() -> index.index(List.of(expense(2L, 0, "Hotel", null))));
+        index.remove(List.of(1L));
+
+        index.index(List.of(expense(1L, 1, "Taxi", null)));
+        assertThat(ids(index.search("taxi", null, null, null, 10))).isEmpty();
+
+        open.rollBack();
+        index.index(List.of(expense(1L, 2, "Taxi", null)));
+        assertThat(ids(index.search("taxi", null, null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("hotel", null, null, null, 10))).isEmpty();
+    }
+
+    @Test
+    void compactionKeepsResultsIntact() {
+        index.index(IntStream.range(0, 30_000)
+                .mapToObj(i -> expense((long) i, 0, "Receipt " + (i % 3 == 0 ? "taxi" : "meal"), "n" + i))
+                .toList());
+        index.index(IntStream.range(0, 30_000)
+                .mapToObj(i -> expense((long) i, 1, "Receipt " + (i % 3 == 0 ? "meal" : "taxi"), "n" + i))
+                .toList());
+
+        assertThat(index.size()).isEqualTo(30_000);
+        assertThat(index.search("taxi", null, null, null, 1).total()).isEqualTo(20_000);
+        assertThat(ids(index.search("n29999 receipt", null, null, null, 10))).containsExactly(29_999L);
+    }
+
+    @Test
+    void rebuildReplacesTheIndexContents() {
+        index.index(List.of(expense(1L, 0, "Taxi", null)));
+
+        int indexed = index.rebuild(Stream.of(
+                ExpenseSearchIndex.Document.of(expense(2L, 0, "Taxi", null)),
+                ExpenseSearchIndex.Document.of(expense(3L, 0, "Hotel", null))));
+
+        assertThat(indexed).isEqualTo(2);
+        assertThat(ids(index.search("taxi", null, null, null, 10))).containsExactly(2L);
+    }
+
+    private static List<Long> ids(ExpenseSearchIndex.Hits hits) {
+        return hits.top().stream().map(ExpenseSearchIndex.Hit::expenseId).toList();
+    }
+
+    private static Expense expense(Long id, long version, String title, String description) {
+        Department department = new Department(10L, "Search", Money.of("1000.00"), Money.ZERO);
+        Expense expense = new Expense();
+        expense.setId(id);
+        expense.setVersion(version);
+        expense.setTitle(title);
+        expense.setDescription(description);
+        expense.setAmount(Money.of("10.00"));
+        expense.setCategory(ExpenseCategory.TRAVEL);
+        expense.setDepartment(department);
+        return expense;
+    }
+}
@@ -0,0 +1,45 @@
+package com.fintech.enterprise.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintech.enterprise.config.MoneyModule;
+import com.fintech.enterprise.model.ExpenseCategory;
+import com.fintech.enterprise.model.ExpenseEventType;
+import com.fintech.enterprise.model.ExpenseStatus;
+import com.fintech.enterprise.model.Money;
+import com.fintech.enterprise.service.dto.ExpenseEventDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileExpenseEventSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new MoneyModule());
+
+    @Test
+    void appendsOneJsonLinePerEventAcrossBatches(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("events/expenses.ndjson");
+        FileExpenseEventSink sink = new FileExpenseEventSink(file, objectMapper);
+
+        sink.publish(List.of(event(1, ExpenseEventType.SUBMITTED), event(2, ExpenseEventType.APPROVED)));
+        sink.publish(List.of(event(3, ExpenseEventType.DELETED)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines.get(1), ExpenseEventDTO.class)).isEqualTo(event(2, ExpenseEventType.APPROVED));
+        assertThat(lines.get(2)).contains("\"position\":3", "\"type\":\"DELETED\"", "\"amount\":12.50");
+    }
+
+    private static ExpenseEventDTO event(long position, ExpenseEventType type) {
+        return new ExpenseEventDTO(position, 100 + position, type, 7L, 2L, 3L, null, ExpenseCategory.TRAVEL,
+                ExpenseStatus.PENDING, Money.of("12.50"), Instant.parse("2025-06-01T10:15:30Z"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.fintech.enterprise.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+/**
+ * Collects what the given work registers to run after commit, as an open transaction would, so a test can
+ * end that transaction later, e.g. after a conflicting change has been applied.
+ */
+final class SimulatedTransaction {
+
+    private final List<TransactionSynchronization> synchronizations;
+
+    private SimulatedTransaction(List<TransactionSynchronization> synchronizations) {
+        this.synchronizations = synchronizations;
+    }
+
+    static SimulatedTransaction open(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return new SimulatedTransaction(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    void commit() {
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    void rollBack() {
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+}